@@ -0,0 +1,31 @@
+package cat.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Creates and removes the scratch directories benchmarks keep their save files in.
+ */
+final class BenchmarkFiles {
+    private BenchmarkFiles() {
+        /* Utility class; do not instantiate. */
+    }
+
+    static Path createDirectory() throws IOException {
+        return Files.createTempDirectory("cat-bench");
+    }
+
+    static void deleteDirectory(Path dir) throws IOException {
+        if (dir == null || Files.notExists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
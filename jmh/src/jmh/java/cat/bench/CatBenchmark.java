@@ -0,0 +1,78 @@
+package cat.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import cat.Cat;
+import cat.storage.SnapshotFormat;
+
+/**
+ * Measures {@link Cat#respond(String)} end to end: dispatch, parsing, the task list and journaling.
+ * Journal writes are group-committed in the background, as in the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private Path dir;
+    private Cat cat;
+
+    /**
+     * Writes a save file and starts Cat on it.
+     * @throws IOException if the file cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        Path file = SaveFileGenerator.write(dir.resolve("cat.txt"), size, SnapshotFormat.TEXT);
+        cat = new Cat(file.toString());
+    }
+
+    /**
+     * Waits for pending journal writes and removes the save files.
+     * @throws IOException if a file cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        cat.flush();
+        BenchmarkFiles.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public String find() {
+        return cat.respond("find submit report");
+    }
+
+    @Benchmark
+    public String due() {
+        return cat.respond("due 2025-04-11");
+    }
+
+    /** Marks and unmarks the same task, so the list does not change between calls. */
+    @Benchmark
+    public String markAndUnmark() {
+        cat.respond("mark 1");
+        return cat.respond("unmark 1");
+    }
+
+    /** Adds a task and deletes it again, so the list does not grow between calls. */
+    @Benchmark
+    public String addAndDelete() {
+        cat.respond("todo benchmark task");
+        return cat.respond("delete " + (size + 1));
+    }
+}
@@ -0,0 +1,127 @@
+package cat.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cat.DialogBox;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+
+/**
+ * Measures how many messages per second the window can append: each message is a new
+ * {@link DialogBox} added to a scene, with CSS and layout applied after every batch.
+ * For comparison <code>fxml</code> runs the same loop with rows loaded from an equivalent
+ * FXML layout, which is how dialog boxes used to be built.
+ * <p>
+ * Every invocation appends one batch on the JavaFX application thread, so this needs a display.
+ * The toolkit is started once per forked JVM and never stopped, since it cannot be restarted.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(DialogBoxBenchmark.BATCH)
+public class DialogBoxBenchmark {
+    static final int BATCH = 100;
+    private static final String ROW_FXML = "<?import javafx.scene.image.ImageView?>"
+            + "<?import javafx.scene.layout.HBox?>"
+            + "<?import javafx.scene.text.Text?>"
+            + "<?import javafx.scene.text.TextFlow?>"
+            + "<HBox xmlns:fx=\"http://javafx.com/fxml/1\" alignment=\"TOP_RIGHT\" spacing=\"10\""
+            + " styleClass=\"dialog-row\">"
+            + "<TextFlow styleClass=\"bubble\" HBox.hgrow=\"ALWAYS\"><Text fx:id=\"dialogText\"/></TextFlow>"
+            + "<ImageView styleClass=\"avatar\" fitWidth=\"99.0\" preserveRatio=\"true\"/>"
+            + "</HBox>";
+
+    private Image avatar;
+    private VBox container;
+    private int messages;
+
+    /**
+     * Starts the JavaFX toolkit if needed and builds a styled scene to append to.
+     * @throws Exception if the scene cannot be built
+     */
+    @Setup
+    public void setUp() throws Exception {
+        startToolkit();
+        onFxThread(() -> {
+            avatar = new WritableImage(99, 99);
+            container = new VBox();
+            Scene scene = new Scene(container, 400, 600);
+            scene.getStylesheets().add(DialogBox.class.getResource("/css/main.css").toExternalForm());
+            scene.getStylesheets().add(DialogBox.class.getResource("/css/dialog-box.css").toExternalForm());
+        });
+    }
+
+    @Benchmark
+    public void code() throws Exception {
+        onFxThread(() -> appendBatch(i -> i % 2 == 0
+                ? DialogBox.getUserDialog("message " + i, avatar)
+                : DialogBox.getCatDialog("reply " + i, avatar)));
+    }
+
+    @Benchmark
+    public void fxml() throws Exception {
+        onFxThread(() -> appendBatch(i -> loadRow("message " + i)));
+    }
+
+    private void appendBatch(IntFunction<Node> rows) {
+        for (int i = 0; i < BATCH; i++) {
+            container.getChildren().add(rows.apply(messages++));
+        }
+        container.applyCss();
+        container.layout();
+        // Keep the scene small so later batches do not pay for earlier ones.
+        container.getChildren().clear();
+    }
+
+    private static Node loadRow(String text) {
+        try {
+            FXMLLoader loader = new FXMLLoader();
+            Node row = loader.load(new ByteArrayInputStream(ROW_FXML.getBytes(StandardCharsets.UTF_8)));
+            ((Text) loader.getNamespace().get("dialogText")).setText(text);
+            return row;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void startToolkit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            return; // Already started by an earlier trial in this JVM.
+        }
+        started.await();
+    }
+
+    /**
+     * Runs the task on the JavaFX application thread and waits for it, rethrowing its failure.
+     */
+    private static void onFxThread(Runnable task) throws Exception {
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        Platform.runLater(future);
+        future.get();
+    }
+}
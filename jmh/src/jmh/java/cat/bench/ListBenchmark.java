@@ -0,0 +1,70 @@
+package cat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.example.list.LinkedList;
+import org.example.utilities.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link LinkedList} from the <code>list</code> module and {@link StringUtils}
+ * from the <code>utilities</code> module.
+ * <p>
+ * Appending and indexing walk the list from its head, and joining indexes every element,
+ * so both are quadratic. Sizes stop at 10k, where a single join already takes tens of
+ * milliseconds; larger sizes would only measure the same curve for much longer.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListBenchmark {
+    @Param({"1000", "10000"})
+    private int size;
+
+    private LinkedList list;
+    private String sentence;
+
+    /**
+     * Builds a list of <code>size</code> words and the sentence they join into.
+     */
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append("word").append(i);
+        }
+        sentence = sb.toString();
+        list = StringUtils.split(sentence);
+    }
+
+    @Benchmark
+    public LinkedList split() {
+        return StringUtils.split(sentence);
+    }
+
+    @Benchmark
+    public String join() {
+        return StringUtils.join(list);
+    }
+
+    @Benchmark
+    public String getLast() {
+        return list.get(size - 1);
+    }
+
+    @Benchmark
+    public int size() {
+        return list.size();
+    }
+}
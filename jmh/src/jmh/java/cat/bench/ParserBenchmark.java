@@ -0,0 +1,49 @@
+package cat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import cat.Parser;
+import cat.exception.EmptyException;
+import cat.exception.InvalidException;
+import cat.task.Task;
+
+/**
+ * Measures {@link Parser#parseTask(String)} for each task type.
+ * Parsing does not depend on the list size, so this benchmark has no size parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    private String todo = "todo read book";
+    private String deadline = "deadline return book /by 2025-03-24";
+    private String event = "event project meeting /from 2025-03-01 /to 2025-03-05";
+    private String alias = "dl submit the quarterly report /by 2025-09-30";
+
+    @Benchmark
+    public Task parseTodo() throws EmptyException, InvalidException {
+        return Parser.parseTask(todo);
+    }
+
+    @Benchmark
+    public Task parseDeadline() throws EmptyException, InvalidException {
+        return Parser.parseTask(deadline);
+    }
+
+    @Benchmark
+    public Task parseEvent() throws EmptyException, InvalidException {
+        return Parser.parseTask(event);
+    }
+
+    @Benchmark
+    public Task parseAlias() throws EmptyException, InvalidException {
+        return Parser.parseTask(alias);
+    }
+}
@@ -0,0 +1,118 @@
+package cat.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+
+import cat.storage.BinaryFormat;
+import cat.storage.SnapshotFormat;
+import cat.task.Deadline;
+import cat.task.Event;
+import cat.task.Task;
+import cat.task.Todo;
+
+/**
+ * Generates reproducible synthetic task lists and save files for benchmarks.
+ * <p>
+ * Half the tasks are todos, 30% deadlines spread over two years and 20% events,
+ * a quarter of which have free-text bounds. Descriptions are two words from a small
+ * vocabulary plus a number, so searches hit a realistic mix of common and rare terms.
+ * The same size always produces the same tasks.
+ * </p>
+ * Usage: <code>java cat.bench.SaveFileGenerator &lt;file&gt; &lt;size&gt; [text|binary]</code>
+ */
+public final class SaveFileGenerator {
+    /** First due date of generated deadlines and events. */
+    public static final LocalDate START_DATE = LocalDate.of(2025, 1, 1);
+    /** Number of days generated dates are spread over. */
+    public static final int DATE_SPAN_DAYS = 730;
+
+    private static final String[] WORDS = {
+        "submit", "report", "read", "book", "buy", "milk", "call", "mom", "project", "meeting",
+        "review", "draft", "email", "lecture", "tutorial", "quiz", "laundry", "groceries", "gym", "dentist",
+    };
+    private static final long SEED = 42;
+
+    private SaveFileGenerator() {
+        /* Utility class; do not instantiate. */
+    }
+
+    /**
+     * Creates <code>size</code> synthetic tasks.
+     * @param size number of tasks
+     * @return tasks in list order
+     */
+    public static ArrayList<Task> tasks(int size) {
+        Random random = new Random(SEED);
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String description = WORDS[random.nextInt(WORDS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            boolean isDone = random.nextInt(4) == 0;
+            LocalDate date = START_DATE.plusDays(random.nextInt(DATE_SPAN_DAYS));
+            int kind = random.nextInt(10);
+            if (kind < 5) {
+                tasks.add(new Todo(description, isDone));
+            } else if (kind < 8) {
+                tasks.add(new Deadline(description, date, isDone));
+            } else if (kind < 9 || random.nextBoolean()) {
+                tasks.add(new Event(description, date, date.plusDays(random.nextInt(14)), isDone));
+            } else {
+                tasks.add(new Event(description, "Mon 2pm", "4pm", isDone));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes a save file holding <code>size</code> synthetic tasks, replacing any existing file.
+     * @param file destination, e.g. a file in a temporary directory
+     * @param size number of tasks
+     * @param format snapshot format to write
+     * @return <code>file</code>
+     * @throws IOException if the file cannot be written
+     */
+    public static Path write(Path file, int size, SnapshotFormat format) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        ArrayList<Task> tasks = tasks(size);
+        if (format == SnapshotFormat.BINARY) {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                BinaryFormat.write(out, tasks, 0, 1);
+            }
+        } else {
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (Task task : tasks) {
+                    out.write(task.toSaveFormat());
+                    out.newLine();
+                }
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Writes a save file from the command line.
+     * @param args destination file, task count and optionally <code>text</code> or <code>binary</code>
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SaveFileGenerator <file> <size> [text|binary]");
+            System.exit(1);
+        }
+        SnapshotFormat format = args.length > 2 && "binary".equalsIgnoreCase(args[2])
+                ? SnapshotFormat.BINARY
+                : SnapshotFormat.TEXT;
+        Path file = write(Path.of(args[0]), Integer.parseInt(args[1]), format);
+        System.out.println("Wrote " + args[1] + " tasks to " + file);
+    }
+}
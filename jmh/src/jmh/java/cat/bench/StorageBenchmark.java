@@ -0,0 +1,82 @@
+package cat.bench;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import cat.Storage;
+import cat.exception.InvalidTaskIndexException;
+import cat.storage.SnapshotFormat;
+import cat.task.Task;
+import cat.task.TaskList;
+
+/**
+ * Measures loading and snapshotting save files of each format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"TEXT", "BINARY"})
+    private SnapshotFormat format;
+
+    private Path dir;
+    private Storage loadStorage;
+    private Storage saveStorage;
+    private TaskList tasks;
+
+    /**
+     * Writes one save file to load from and prepares a second storage to snapshot into.
+     * @throws IOException if the files cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        Path loadFile = SaveFileGenerator.write(dir.resolve("load.txt"), size, format);
+        loadStorage = new Storage(loadFile.toString(), false, format);
+        saveStorage = new Storage(dir.resolve("save.txt").toString(), false, format);
+        tasks = new TaskList(SaveFileGenerator.tasks(size));
+    }
+
+    /**
+     * Removes the save files.
+     * @throws IOException if a file cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteDirectory(dir);
+    }
+
+    @Benchmark
+    public ArrayList<Task> load() throws IOException {
+        return loadStorage.load();
+    }
+
+    /**
+     * Toggles one task first, since saving an unchanged list is skipped.
+     */
+    @Benchmark
+    public TaskList save() throws IOException, InvalidTaskIndexException {
+        if (tasks.get(0).isDone()) {
+            tasks.unmarkDone(0);
+        } else {
+            tasks.markDone(0);
+        }
+        saveStorage.save(tasks);
+        return tasks;
+    }
+}
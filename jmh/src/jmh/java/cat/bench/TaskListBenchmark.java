@@ -0,0 +1,97 @@
+package cat.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cat.task.ColumnarTaskList;
+import cat.task.TaskList;
+import cat.task.TaskStore;
+
+/**
+ * Measures the read-only queries of {@link TaskList} and of the {@link ColumnarTaskList} backend,
+ * which answers them by scanning its columns instead of from indexes.
+ * <p>
+ * Setup prints the heap each list retains, measured as used memory after a few GCs,
+ * since that is what the columnar backend trades query time for.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"indexed", "columnar"})
+    private String backend;
+
+    private TaskStore tasks;
+
+    /**
+     * Builds the list, including its search and date indexes for the indexed backend,
+     * and reports the heap it retains.
+     */
+    @Setup
+    public void setUp() {
+        long before = usedHeap();
+        tasks = "columnar".equals(backend)
+                ? new ColumnarTaskList(SaveFileGenerator.tasks(size))
+                : new TaskList(SaveFileGenerator.tasks(size));
+        System.out.printf("%n%s list of %,d tasks retains %.1f MB%n", backend, size, (usedHeap() - before) / 1e6);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Common substring, matching about a tenth of the list. */
+    @Benchmark
+    public String searchCommon() {
+        return tasks.search("rep");
+    }
+
+    /** Multi-word phrase. */
+    @Benchmark
+    public String searchPhrase() {
+        return tasks.search("submit report");
+    }
+
+    /** Substring that matches a handful of tasks. */
+    @Benchmark
+    public String searchRare() {
+        return tasks.search(" 999");
+    }
+
+    @Benchmark
+    public String dueOnDate() {
+        return tasks.dueOnDate(SaveFileGenerator.START_DATE.plusDays(100));
+    }
+
+    @Benchmark
+    public String eventsOn() {
+        return tasks.eventsOn(SaveFileGenerator.START_DATE.plusDays(100));
+    }
+
+    @Benchmark
+    public String formatList() {
+        return tasks.formatList();
+    }
+
+    /** One page of 50 from the middle of the list, as shown by <code>list page N</code>. */
+    @Benchmark
+    public String formatPage() {
+        return tasks.formatList(size / 2, 50);
+    }
+}
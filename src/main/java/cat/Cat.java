@@ -5,11 +5,17 @@ import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 
+import cat.command.Command;
+import cat.command.CommandRegistry;
 import cat.exception.EmptyException;
 import cat.exception.InvalidException;
 import cat.exception.InvalidTaskIndexException;
+import cat.storage.SnapshotFormat;
+import cat.task.ColumnarTaskList;
 import cat.task.Task;
 import cat.task.TaskList;
+import cat.task.TaskStore;
+import cat.task.TaskNumbers;
 import cat.ui.Ui;
 
 /**
@@ -18,36 +24,80 @@ import cat.ui.Ui;
  * task list updates, and saving to storage.
  */
 public class Cat {
+    /** Start of the reply shown when a change cannot be written to storage. */
+    static final String SAVE_ERROR_PREFIX = "OOPS!!! Could not save tasks to file: ";
+
     private static final String DEFAULT_STORAGE_PATH = "./data/cat.txt";
     private static final String DATE_ERROR_MESSAGE = "Invalid date format! Please input date in yyyy-mm-dd.";
-    private static final String SAVE_ERROR_PREFIX = "OOPS!!! Could not save tasks to file: ";
+    private static final String RANGE_ERROR_MESSAGE = "oops the first date must not be after the second one.";
     private static final int USER_INDEX_OFFSET = 1;
+    private static final String DONE_SELECTOR = "done";
+    private static final String NOTHING_DONE_MESSAGE = "hmm no tasks are done yet.";
+    private static final String ALL_OPTION = "all";
+    private static final String PAGE_OPTION = "page";
+    private static final String LIMIT_OPTION = "--limit";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final String LIST_USAGE_MESSAGE = "oops! try list, list page 2, list --limit 50 or list all.";
+    private static final String FORMAT_PROPERTY = "cat.format";
+    private static final String HISTORY_PROPERTY = "cat.history";
+    private static final String BACKEND_PROPERTY = "cat.backend";
+    private static final int DEFAULT_HISTORY_DEPTH = 20;
 
-    private TaskList tasks;
+    private TaskStore tasks;
     private Storage storage;
     private Ui ui;
+    private final CommandRegistry commands = createCommands();
 
     /**
      * Creates a Cat application with storage file <code>./data/cat.txt</code>.
      * Loads tasks from storage if available, otherwise starts with an empty list.
+     * Journal writes are group-committed in the background; see {@link #flush()}.
+     * Snapshots are written as text unless the <code>cat.format</code> system property is <code>binary</code>.
+     * The <code>cat.history</code> system property sets how many changes <code>undo</code> can take back
+     * (20 by default, 0 to keep no history). With <code>cat.backend</code> set to <code>columnar</code>,
+     * tasks are kept in a {@link ColumnarTaskList}, which needs far less memory for large lists but has no undo.
      */
     public Cat() {
+        this(DEFAULT_STORAGE_PATH);
+    }
+
+    /**
+     * Creates a Cat application that keeps its tasks in the given file, e.g. for tests and benchmarks.
+     * Loads tasks from storage if available, otherwise starts with an empty list.
+     * @param filePath path to the snapshot file; its journal is kept next to it
+     */
+    public Cat(String filePath) {
         ui = new Ui();
-        storage = new Storage(DEFAULT_STORAGE_PATH);
+        storage = new Storage(filePath, true, snapshotFormat());
         try {
-            tasks = new TaskList(storage.load());
+            tasks = createTaskList(storage.load(), storage.getNextId());
         } catch (IOException e) {
             ui.showLoadingError();
-            tasks = new TaskList(new ArrayList<>());
+            tasks = createTaskList(new ArrayList<>(), 1);
         }
+        tasks.setHistoryDepth(Integer.getInteger(HISTORY_PROPERTY, DEFAULT_HISTORY_DEPTH));
 
         assert ui != null : "UI must be initialized";
         assert storage != null : "Storage must be initialized";
         assert tasks != null : "Task list must be initialized";
     }
 
+    private static TaskStore createTaskList(ArrayList<Task> loaded, long nextId) {
+        return "columnar".equalsIgnoreCase(System.getProperty(BACKEND_PROPERTY))
+                ? new ColumnarTaskList(loaded, nextId)
+                : new TaskList(loaded, nextId);
+    }
+
+    private static SnapshotFormat snapshotFormat() {
+        return "binary".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY))
+                ? SnapshotFormat.BINARY
+                : SnapshotFormat.TEXT;
+    }
+
     /**
      * Returns the goodbye message shown when the user exits.
+     * {@link #respond(String)} also checkpoints the journal into a fresh snapshot on
+     * <code>bye</code>; the write is skipped if nothing changed since the last one.
      *
      * @return Goodbye text for display.
      */
@@ -55,44 +105,55 @@ public class Cat {
         return "byeee <3\n";
     }
 
+    /**
+     * Blocks until every change made so far has been written to storage.
+     * Called when the application shuts down without <code>bye</code>, and by the server before replying.
+     *
+     * @throws IOException if a change could not be written
+     */
+    public void flush() throws IOException {
+        storage.flush();
+    }
+
+    /**
+     * Stops journaling each change; changes are only written by {@link #checkpoint()} and <code>bye</code>.
+     * Used for bulk imports, where one snapshot at the end is far cheaper than a record per command.
+     *
+     * @throws IOException if journal records queued so far cannot be written
+     */
+    public void deferPersistence() throws IOException {
+        storage.setDeferred(true);
+    }
+
+    /**
+     * Writes every change made so far into a fresh snapshot.
+     * Does nothing if nothing changed since the last one.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void checkpoint() throws IOException {
+        storage.save(tasks);
+    }
+
     /**
      * Processes a single user input line and returns the message to display.
      * <p>
+     * The first word selects a handler from the command registry; anything that is not a
+     * registered command (or an alias of one) is parsed as a new task.
      * This method is UI-agnostic and does not perform any printing. It mutates
      * internal state as needed (e.g., adding/removing tasks) and persists to storage.
+     * Read-only commands such as {@code list}, {@code find}, {@code due}, {@code overdue},
+     * {@code on} and {@code between} never touch storage.
+     * Journal records are written in the background, so a failed write is reported by the next
+     * command that changes the list, and changes are refused until <code>bye</code> saves a snapshot.
      *
      * @param input Raw user input (e.g., {@code "todo read book"}, {@code "list"}).
      * @return A formatted message describing the outcome of the command.
      */
     public String respond(String input) {
-        if ("bye".equals(input)) {
-            String msg = goodbye();
-            assert msg != null : "Goodbye message cannot be null";
-            return msg;
-        }
         try {
-            if (input.equals("list")) {
-                return handleList(input);
-            } else if (input.startsWith("mark")) {
-                return handleMark(input);
-            } else if (input.startsWith("unmark")) {
-                return handleUnmark(input);
-            } else if (input.startsWith("delete")) {
-                return handleDelete(input);
-            } else if (input.startsWith("due")) {
-                return handleDue(input);
-            } else if (input.startsWith("find")) {
-                return handleFind(input);
-            } else if (input.startsWith("alias")) {
-                return Parser.addAlias(input);
-            } else {
-                try {
-                    return handleTask(input);
-                } catch (EmptyException | InvalidException e) {
-                    return e.getMessage();
-                }
-            }
-        } catch (InvalidTaskIndexException e) {
+            return commands.resolve(input).execute(input);
+        } catch (EmptyException | InvalidException | InvalidTaskIndexException e) {
             return e.getMessage();
         } catch (DateTimeParseException | ArrayIndexOutOfBoundsException e) {
             return DATE_ERROR_MESSAGE;
@@ -102,135 +163,330 @@ public class Cat {
     }
 
     /**
-     * Produces a formatted listing of all tasks and persists the current state.
+     * Returns whether <code>input</code> runs the <code>bye</code> command, matched the same way
+     * {@link #respond(String)} picks its handler, so front ends stop exactly when <code>bye</code> ran.
+     *
+     * @param input Raw user input, e.g. {@code "bye"} or an alias of it.
+     * @return true if responding to the input would run {@code bye}
+     */
+    public boolean isBye(String input) {
+        return "bye".equals(commands.commandWord(input));
+    }
+
+    /**
+     * Registers a handler for a command word, replacing any built-in command with the same word.
+     * The word also answers to its aliases, see {@link Parser#addAlias(String)}.
+     *
+     * @param word command word, e.g. {@code "stats"}
+     * @param command handler that receives the whole input line
+     */
+    public void registerCommand(String word, Command command) {
+        commands.register(word, command);
+    }
+
+    private CommandRegistry createCommands() {
+        CommandRegistry registry = new CommandRegistry(this::handleTask);
+        registry.register("bye", this::handleBye);
+        registry.register("list", this::handleList);
+        registry.register("mark", this::handleMark);
+        registry.register("unmark", this::handleUnmark);
+        registry.register("delete", this::handleDelete);
+        registry.register("due", this::handleDue);
+        registry.register("overdue", this::handleOverdue);
+        registry.register("on", this::handleOn);
+        registry.register("between", this::handleBetween);
+        registry.register("find", this::handleFind);
+        registry.register("undo", this::handleUndo);
+        registry.register("redo", this::handleRedo);
+        registry.register("alias", Parser::addAlias);
+        return registry;
+    }
+
+    /**
+     * Checkpoints the journal into a fresh snapshot and returns the goodbye message.
+     *
+     * @param input raw user input that triggered the command (ignored)
+     * @return goodbye text (never {@code null})
+     * @throws IOException if the snapshot cannot be written
+     */
+    private String handleBye(String input) throws IOException {
+        String msg = goodbye();
+        assert msg != null : "Goodbye message cannot be null";
+        storage.save(tasks);
+        return msg;
+    }
+
+    /**
+     * Produces a formatted listing of one page of tasks, or of all of them.
      *
-     * <p>The {@code input} is ignored; this method simply renders the current task list.</p>
+     * <p>Expected input format: {@code "list"} for the first 50 tasks, followed by a note saying how many
+     * more there are and how to see them, {@code "list page <N>"} for the
+     * N-th page of 50, {@code "list --limit <N>"} for the first N tasks, or both, e.g.
+     * {@code "list page 3 --limit 20"}, and {@code "list all"} for every task.
+     * Tasks keep their numbers in the whole list, so they can be passed to {@code mark} or {@code delete}.</p>
      *
-     * @param input raw user input that triggered the list command (ignored)
+     * @param input raw user input that triggered the list command
      * @return formatted list of tasks (never {@code null})
-     * @throws IOException if saving the task list fails
+     * @throws InvalidException if an option is unknown or its number is missing or not positive
      */
-    private String handleList(String input) throws IOException {
-        String output = tasks.formatList();
+    private String handleList(String input) throws InvalidException {
+        InputScanner line = InputScanner.ofCommand(input);
+        if (line.hasRest() && ALL_OPTION.equalsIgnoreCase(line.rest().strip())) {
+            String output = tasks.formatList();
+            assert output != null : "List output must not be empty";
+            return output;
+        }
+        String[] options = line.hasRest() ? line.rest().split("\\s+") : new String[0];
+        int page = 1;
+        int limit = DEFAULT_PAGE_SIZE;
+        for (int i = 0; i < options.length; i += 2) {
+            if (i + 1 == options.length) {
+                throw new InvalidException(LIST_USAGE_MESSAGE);
+            }
+            if (PAGE_OPTION.equalsIgnoreCase(options[i])) {
+                page = parsePositive(options[i + 1]);
+            } else if (LIMIT_OPTION.equalsIgnoreCase(options[i])) {
+                limit = parsePositive(options[i + 1]);
+            } else {
+                throw new InvalidException(LIST_USAGE_MESSAGE);
+            }
+        }
+        long from = (long) (page - 1) * limit;
+        String output = tasks.formatList((int) Math.min(from, Integer.MAX_VALUE), limit);
         assert output != null : "List output must not be empty";
-        storage.save(tasks);
+        int hidden = tasks.size() - DEFAULT_PAGE_SIZE;
+        if (!line.hasRest() && hidden > 0) {
+            output += "\n...and " + hidden + " more. try list page 2 or list all to see them.";
+        }
         return output;
     }
 
+    private static int parsePositive(String text) throws InvalidException {
+        try {
+            int number = Integer.parseInt(text);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below like any other bad number.
+        }
+        throw new InvalidException(LIST_USAGE_MESSAGE);
+    }
+
     /**
-     * Marks the task identified by the 1-based index in {@code input} as done, then persists.
+     * Marks the tasks identified by the 1-based numbers in {@code input} as done, then journals the change
+     * as one record.
      *
-     * <p>Expected input format: {@code "mark <index>"} where {@code <index>} is 1-based.</p>
+     * <p>Expected input format: {@code "mark <numbers>"}, e.g. {@code "mark 2"} or {@code "mark 3,5,9-40"}.</p>
      *
-     * @param input command text containing a 1-based task index
+     * @param input command text containing 1-based task numbers
      * @return confirmation/updated list text (never {@code null})
-     * @throws IOException if saving the task list fails
-     * @throws NumberFormatException if the index token is not an integer
-     * @throws ArrayIndexOutOfBoundsException if the index token is missing
+     * @throws IOException if the journal cannot be written
+     * @throws InvalidTaskIndexException if a number is malformed or names a task that does not exist
+     * @throws ArrayIndexOutOfBoundsException if the numbers are missing
      */
     private String handleMark(String input) throws IOException, InvalidTaskIndexException {
-        int taskNum = getTaskNum(input);
-        String output = tasks.markDone(taskNum);
+        TaskNumbers taskNums = getTaskNums(input);
+        String output = tasks.markDone(taskNums);
         assert output != null : "Mark output must not be empty";
-        storage.save(tasks);
+        storage.logMark(taskNums);
         return output;
     }
 
     /**
-     * Unmarks the task identified by the 1-based index in {@code input}, then persists.
+     * Unmarks the tasks identified by the 1-based numbers in {@code input}, then journals the change
+     * as one record.
      *
-     * <p>Expected input format: {@code "unmark <index>"} where {@code <index>} is 1-based.</p>
+     * <p>Expected input format: {@code "unmark <numbers>"}, e.g. {@code "unmark 2"} or {@code "unmark 1-3"}.</p>
      *
-     * @param input command text containing a 1-based task index
+     * @param input command text containing 1-based task numbers
      * @return confirmation/updated list text (never {@code null})
-     * @throws IOException if saving the task list fails
-     * @throws NumberFormatException if the index token is not an integer
-     * @throws ArrayIndexOutOfBoundsException if the index token is missing
+     * @throws IOException if the journal cannot be written
+     * @throws InvalidTaskIndexException if a number is malformed or names a task that does not exist
+     * @throws ArrayIndexOutOfBoundsException if the numbers are missing
      */
     private String handleUnmark(String input) throws IOException, InvalidTaskIndexException {
-        int taskNum = getTaskNum(input);
-        String output = tasks.unmarkDone(taskNum);
+        TaskNumbers taskNums = getTaskNums(input);
+        String output = tasks.unmarkDone(taskNums);
         assert output != null : "Unmark output must not be empty";
-        storage.save(tasks);
+        storage.logUnmark(taskNums);
         return output;
     }
 
     /**
-     * Extracts the zero-based task index from a command string.
+     * Extracts the task numbers from a command string.
      *
-     * <p>Expected format: {@code "<command> <index>"} where {@code <index>} is 1-based.
-     * This method converts it to a zero-based index by subtracting {@code USER_INDEX_OFFSET}.</p>
+     * <p>Expected format: {@code "<command> <numbers>"} where {@code <numbers>} are 1-based numbers and
+     * inclusive ranges separated by commas, e.g. {@code "3,5,9-40"}. They are converted to zero-based
+     * positions by subtracting {@code USER_INDEX_OFFSET}, and all refer to the list as it is now.</p>
      *
-     * @param input command text containing a 1-based index as the second token
-     * @return zero-based task index
-     * @throws NumberFormatException if the index token is not an integer
-     * @throws ArrayIndexOutOfBoundsException if the index token is missing
+     * @param input command text containing task numbers after the command word
+     * @return zero-based task positions
+     * @throws InvalidTaskIndexException if a number is malformed or names a task that does not exist
+     * @throws ArrayIndexOutOfBoundsException if the numbers are missing
      */
-    private int getTaskNum(String input) {
-        String[] parts = input.split(" ");
-        return Integer.parseInt(parts[1]) - USER_INDEX_OFFSET;
+    private TaskNumbers getTaskNums(String input) throws InvalidTaskIndexException {
+        return TaskNumbers.parse(CommandRegistry.argumentsOf(input), USER_INDEX_OFFSET, tasks.size());
     }
 
     /**
-     * Deletes the task identified by the 1-based index in {@code input}, then persists.
+     * Deletes the tasks identified by the 1-based numbers in {@code input}, or every finished task for
+     * {@code "delete done"}, then journals the change as one record.
      *
-     * <p>Expected input format: {@code "delete <index>"} where {@code <index>} is 1-based.</p>
+     * <p>Expected input format: {@code "delete <numbers>"}, e.g. {@code "delete 2"} or
+     * {@code "delete 10-200"}, or {@code "delete done"}.</p>
      *
-     * @param input command text containing a 1-based task index
+     * @param input command text containing 1-based task numbers or {@code done}
      * @return confirmation/updated list text (never {@code null})
-     * @throws IOException if saving the task list fails
-     * @throws NumberFormatException if the index token is not an integer
-     * @throws ArrayIndexOutOfBoundsException if the index token is missing
+     * @throws IOException if the journal cannot be written
+     * @throws InvalidTaskIndexException if a number is malformed or names a task that does not exist
+     * @throws ArrayIndexOutOfBoundsException if the numbers are missing
      */
     private String handleDelete(String input) throws IOException, InvalidTaskIndexException {
-        int taskNum = getTaskNum(input);
-        String output = tasks.delete(taskNum);
+        TaskNumbers taskNums;
+        if (DONE_SELECTOR.equalsIgnoreCase(CommandRegistry.argumentsOf(input))) {
+            taskNums = tasks.findDone();
+            if (taskNums.size() == 0) {
+                return NOTHING_DONE_MESSAGE;
+            }
+        } else {
+            taskNums = getTaskNums(input);
+        }
+        String output = tasks.delete(taskNums);
         assert output != null : "Delete output must not be empty";
+        storage.logDelete(taskNums);
+        return output;
+    }
+
+    /**
+     * Takes back the last change, then checkpoints the list into a fresh snapshot.
+     *
+     * <p>The journal only records changes going forward by position, so an undone change is saved by
+     * rewriting the snapshot. The history itself is kept in memory only and starts empty on every run.</p>
+     *
+     * @param input raw user input that triggered the command (ignored)
+     * @return confirmation text, or a note that there is nothing to undo (never {@code null})
+     * @throws IOException if the snapshot cannot be written
+     */
+    private String handleUndo(String input) throws IOException {
+        String output = tasks.undo();
+        assert output != null : "Undo output must not be empty";
         storage.save(tasks);
         return output;
     }
 
     /**
-     * Lists tasks due on the ISO-8601 date that follows {@code "due "} in {@code input}, then persists.
+     * Makes the last undone change again, then checkpoints the list into a fresh snapshot.
      *
-     * <p>Expected input format: {@code "due <YYYY-MM-DD>"}.</p>
+     * @param input raw user input that triggered the command (ignored)
+     * @return confirmation text, or a note that there is nothing to redo (never {@code null})
+     * @throws IOException if the snapshot cannot be written
+     */
+    private String handleRedo(String input) throws IOException {
+        String output = tasks.redo();
+        assert output != null : "Redo output must not be empty";
+        storage.save(tasks);
+        return output;
+    }
+
+    /**
+     * Lists tasks due on the ISO-8601 date, or in the inclusive date range, that follows {@code "due "}.
+     *
+     * <p>Expected input format: {@code "due <YYYY-MM-DD>"} or {@code "due <YYYY-MM-DD>..<YYYY-MM-DD>"}.</p>
      *
-     * @param input command text containing an ISO date after {@code "due "}
+     * @param input command text containing an ISO date or date range after {@code "due "}
      * @return formatted list of matching tasks (never {@code null})
-     * @throws IOException if saving the task list fails
-     * @throws java.time.format.DateTimeParseException if the date cannot be parsed
+     * @throws java.time.format.DateTimeParseException if a date cannot be parsed
      * @throws ArrayIndexOutOfBoundsException if the date token is missing
      */
-    private String handleDue(String input) throws IOException {
-        String[] parts = input.split("due ");
-        LocalDate date = LocalDate.parse(parts[1]);
-        String output = tasks.dueOnDate(date);
+    private String handleDue(String input) {
+        String argument = CommandRegistry.argumentsOf(input);
+        String[] range = argument.split("\\.\\.", -1);
+        String output;
+        if (range.length == 2) {
+            LocalDate from = LocalDate.parse(range[0].trim());
+            LocalDate to = LocalDate.parse(range[1].trim());
+            if (to.isBefore(from)) {
+                return RANGE_ERROR_MESSAGE;
+            }
+            output = tasks.dueBetween(from, to);
+        } else {
+            output = tasks.dueOnDate(LocalDate.parse(argument));
+        }
         assert output != null : "Due output must not be empty";
-        storage.save(tasks);
         return output;
     }
 
     /**
-     * Searches tasks using the keyword that follows {@code "find "} in {@code input}, then persists.
+     * Lists unfinished deadlines that were due before today.
+     *
+     * <p>Expected input format: {@code "overdue"}.</p>
+     *
+     * @param input raw user input that triggered the command (ignored)
+     * @return formatted list of overdue tasks (never {@code null})
+     */
+    private String handleOverdue(String input) {
+        String output = tasks.overdue(LocalDate.now());
+        assert output != null : "Overdue output must not be empty";
+        return output;
+    }
+
+    /**
+     * Lists events taking place on the ISO-8601 date that follows {@code "on "} in {@code input}.
+     *
+     * <p>Expected input format: {@code "on <YYYY-MM-DD>"}.</p>
+     *
+     * @param input command text containing an ISO date after {@code "on "}
+     * @return formatted list of matching events (never {@code null})
+     * @throws java.time.format.DateTimeParseException if the date cannot be parsed
+     */
+    private String handleOn(String input) {
+        LocalDate date = LocalDate.parse(CommandRegistry.argumentsOf(input));
+        String output = tasks.eventsOn(date);
+        assert output != null : "On output must not be empty";
+        return output;
+    }
+
+    /**
+     * Lists events overlapping the inclusive range given by the two ISO-8601 dates in {@code input}.
+     *
+     * <p>Expected input format: {@code "between <YYYY-MM-DD> <YYYY-MM-DD>"}.</p>
+     *
+     * @param input command text containing two ISO dates after {@code "between "}
+     * @return formatted list of matching events (never {@code null})
+     * @throws java.time.format.DateTimeParseException if a date cannot be parsed
+     * @throws ArrayIndexOutOfBoundsException if a date token is missing
+     */
+    private String handleBetween(String input) {
+        String[] parts = input.trim().split("\\s+");
+        LocalDate from = LocalDate.parse(parts[1]);
+        LocalDate to = LocalDate.parse(parts[2]);
+        if (to.isBefore(from)) {
+            return RANGE_ERROR_MESSAGE;
+        }
+        String output = tasks.eventsBetween(from, to);
+        assert output != null : "Between output must not be empty";
+        return output;
+    }
+
+    /**
+     * Searches tasks using the keyword that follows {@code "find "} in {@code input}.
      *
      * <p>Expected input format: {@code "find <keyword>"}.</p>
      *
      * @param input command text containing a search keyword after {@code "find "}
      * @return formatted list of matching tasks (never {@code null})
-     * @throws IOException if saving the task list fails
      * @throws ArrayIndexOutOfBoundsException if the keyword token is missing
      */
-    private String handleFind(String input) throws IOException {
-        String[] parts = input.split("find ");
-        String keyword = parts[1];
+    private String handleFind(String input) {
+        String keyword = CommandRegistry.argumentsOf(input);
         String output = tasks.search(keyword);
         assert output != null : "Find output must not be empty";
-        storage.save(tasks);
         return output;
     }
 
     /**
-     * Parses a task creation command, adds the task to the list, and persists the updated state.
+     * Parses a task creation command, adds the task to the list, and journals the addition.
      *
      * <p>Examples of supported inputs (dependent on {@link Parser#parseTask(String)}):
      * {@code "todo <desc>"}, {@code "deadline <desc> /by <YYYY-MM-DD>"},
@@ -240,15 +496,17 @@ public class Cat {
      * @return confirmation/updated list text (never {@code null})
      * @throws EmptyException if the command lacks a required description or fields
      * @throws InvalidException if the command format is invalid
-     * @throws IOException if saving the task list fails
+     * @throws IOException if the journal cannot be written
+     * @throws InvalidTaskIndexException if the added task cannot be read back to journal it
      */
     private String handleTask(String input)
-            throws EmptyException, InvalidException, IOException {
+            throws EmptyException, InvalidException, IOException, InvalidTaskIndexException {
         Task task = Parser.parseTask(input);
         assert task != null : "Parsed task must not be null";
         String output = tasks.add(task);
         assert output != null : "Task output must not be empty";
-        storage.save(tasks);
+        // The list stores a copy that carries the new ID, so journal that one.
+        storage.logAdd(tasks.get(tasks.size() - 1));
         return output;
     }
 
@@ -1,67 +1,67 @@
 package cat;
 
-import java.io.IOException;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * <p>
+ * The node tree is built directly in code rather than loaded from FXML, and in the final
+ * order for its side, so a message costs a handful of allocations instead of an XML parse.
+ * </p>
  */
 public class DialogBox extends HBox {
+    private static final double SPACING = 10;
+    private static final double AVATAR_WIDTH = 99.0;
+    private static final double BUBBLE_INNER_PADDING = 20;
 
-    @FXML private ImageView displayPicture;
-    @FXML private TextFlow bubble;
-    @FXML private Text dialogText;
+    private final ImageView displayPicture;
+    private final TextFlow bubble;
+    private final Text dialogText;
 
     /**
      * Creates a new {@code DialogBox} containing a message bubble and an avatar image.
      * <p>
-     * This constructor loads the {@code DialogBox.fxml} layout, injects the FXML
-     * controls, and configures the text and image content. The message text is bound
-     * to wrap within the available bubble width, and the display picture is set
-     * to the provided avatar image.
+     * The message text is bound to wrap within the available bubble width, and the
+     * display picture is set to the provided avatar image. User messages put the avatar
+     * on the right, application messages on the left.
      * </p>
      *
      * @param text the message to display inside the dialog bubble
      * @param img  the avatar image representing the speaker
+     * @param isAvatarLeft whether the avatar goes before the bubble
      */
-    public DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+    private DialogBox(String text, Image img, boolean isAvatarLeft) {
+        super(SPACING);
+        getStyleClass().add("dialog-row");
+        setFillHeight(false);
 
-        dialogText.setText(text);
+        dialogText = new Text(text);
+        bubble = new TextFlow(dialogText);
+        bubble.getStyleClass().add("bubble");
+        bubble.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(bubble, Priority.ALWAYS);
         // wrap to bubble width (minus a little inner padding)
-        dialogText.wrappingWidthProperty().bind(bubble.widthProperty().subtract(20));
-        setFillHeight(false);
+        dialogText.wrappingWidthProperty().bind(bubble.widthProperty().subtract(BUBBLE_INNER_PADDING));
 
-        displayPicture.setImage(img);
-    }
+        displayPicture = new ImageView(img);
+        displayPicture.getStyleClass().add("avatar");
+        displayPicture.setFitWidth(AVATAR_WIDTH);
+        displayPicture.setPreserveRatio(true);
 
-    /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
-     */
-    private void flip() {
-        this.setAlignment(Pos.TOP_LEFT);
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        FXCollections.reverse(tmp);
-        this.getChildren().setAll(tmp);
+        if (isAvatarLeft) {
+            setAlignment(Pos.TOP_LEFT);
+            getChildren().addAll(displayPicture, bubble);
+        } else {
+            setAlignment(Pos.TOP_RIGHT);
+            getChildren().addAll(bubble, displayPicture);
+        }
     }
 
     /**
@@ -82,7 +82,7 @@ public class DialogBox extends HBox {
     // so that user messages (purple bubbles) can be styled separately from
     // app messages (pink bubbles).
     public static DialogBox getUserDialog(String s, Image i) {
-        DialogBox db = new DialogBox(s, i);
+        DialogBox db = new DialogBox(s, i, false);
         db.getStyleClass().add("user-row"); // row side
         db.bubble.getStyleClass().add("user-bubble"); // bubble side
         return db;
@@ -92,7 +92,7 @@ public class DialogBox extends HBox {
      * Creates a {@code DialogBox} styled as an application (Cat) message.
      * <p>
      * The dialog box will display the specified text and avatar image,
-     * and is flipped so that the avatar appears on the left-hand side
+     * with the avatar on the left-hand side
      * and the message bubble on the right. CSS style classes
      * {@code app-row} (for the row) and {@code app-bubble} (for the
      * message bubble) are applied to visually distinguish application
@@ -106,10 +106,25 @@ public class DialogBox extends HBox {
     // AI-assisted: ChatGPT guided adding "app-row" and "app-bubble" classes
     // for asymmetric chat layout and pink styling.
     public static DialogBox getCatDialog(String s, Image i) {
-        DialogBox db = new DialogBox(s, i);
-        db.flip(); // put avatar left
+        DialogBox db = new DialogBox(s, i, true); // avatar left
         db.getStyleClass().add("app-row");
         db.bubble.getStyleClass().add("app-bubble");
         return db;
     }
+
+    /**
+     * Shows another message in this dialog box, so that it can be reused instead of rebuilt.
+     *
+     * @param s the message text to display
+     * @param isPending whether the message stands in for a reply that is still being computed,
+     *                  which adds the {@code pending-bubble} style class
+     */
+    public void show(String s, boolean isPending) {
+        dialogText.setText(s);
+        if (!isPending) {
+            bubble.getStyleClass().remove("pending-bubble");
+        } else if (!bubble.getStyleClass().contains("pending-bubble")) {
+            bubble.getStyleClass().add("pending-bubble");
+        }
+    }
 }
@@ -0,0 +1,126 @@
+package cat;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Console entry point that runs commands without the GUI.
+ * <p>
+ * Commands are read one per line from a file or standard input and passed to
+ * {@link Cat#respond(String)}; each reply is written to buffered standard output.
+ * Persistence is deferred: instead of journaling every command, the task list is
+ * snapshotted once at the end of the batch (or on <code>bye</code>), and optionally
+ * every <code>N</code> commands, so thousands of commands cost a handful of writes.
+ * </p>
+ * Usage: <code>java cat.Headless [--file &lt;commands&gt;] [--data &lt;cat.txt&gt;]
+ * [--checkpoint-every &lt;N&gt;]</code>
+ */
+public class Headless {
+    private static final String DEFAULT_STORAGE_PATH = "./data/cat.txt";
+    private static final String USAGE =
+            "Usage: Headless [--file <commands>] [--data <cat.txt>] [--checkpoint-every <N>]";
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private final Cat cat;
+    private final int checkpointEvery;
+
+    /**
+     * Creates a batch runner.
+     * @param cat application to send the commands to; its persistence is deferred
+     * @param checkpointEvery number of commands between snapshots, or 0 to snapshot only at the end
+     * @throws IOException if queued journal records cannot be written
+     */
+    public Headless(Cat cat, int checkpointEvery) throws IOException {
+        this.cat = cat;
+        this.checkpointEvery = checkpointEvery;
+        cat.deferPersistence();
+    }
+
+    /**
+     * Runs every command from <code>in</code>, up to and including <code>bye</code>,
+     * writing the replies to <code>out</code>, then snapshots the task list.
+     * @param in commands, one per line
+     * @param out destination for replies; flushed at every checkpoint and at the end
+     * @return number of commands run
+     * @throws IOException if the input cannot be read, or the output or snapshot cannot be written
+     */
+    public long run(BufferedReader in, Writer out) throws IOException {
+        long count = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String reply = cat.respond(line.strip());
+            out.write(stripTrailingNewlines(reply));
+            out.write(System.lineSeparator());
+            count++;
+            if (cat.isBye(line.strip())) {
+                break;
+            }
+            if (checkpointEvery > 0 && count % checkpointEvery == 0) {
+                cat.checkpoint();
+                out.flush();
+            }
+        }
+        cat.checkpoint();
+        out.flush();
+        return count;
+    }
+
+    private static String stripTrailingNewlines(String s) {
+        int end = s.length();
+        while (end > 0 && (s.charAt(end - 1) == '\n' || s.charAt(end - 1) == '\r')) {
+            end--;
+        }
+        return s.substring(0, end);
+    }
+
+    /**
+     * Entry point of the headless mode.
+     * @param args options, see the class description
+     */
+    public static void main(String[] args) {
+        Path commands = null;
+        String dataPath = DEFAULT_STORAGE_PATH;
+        int checkpointEvery = 0;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--file":
+                    commands = Path.of(args[++i]);
+                    break;
+                case "--data":
+                    dataPath = args[++i];
+                    break;
+                case "--checkpoint-every":
+                    checkpointEvery = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        try (Reader reader = commands == null
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(commands, StandardCharsets.UTF_8)) {
+            new Headless(new Cat(dataPath), checkpointEvery).run(new BufferedReader(reader), out);
+        } catch (IOException e) {
+            System.err.println("OOPS!!! " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package cat;
+
+/**
+ * Splits one line of user input into a command word, a description and <code>/flag</code> values.
+ * <p>
+ * For <code>event book club /from 2024-03-24 /to 2024-03-25</code> the command is
+ * <code>event</code>, the description is <code>book club</code> and the flags
+ * <code>from</code> and <code>to</code> hold the two dates. A flag is a slash followed by one
+ * of the names passed to {@link #scanFlags(String...)}, in any case, at the start of the text
+ * or after whitespace, and followed by whitespace or the end of the line. Anything else,
+ * e.g. the slash in <code>read a/b testing</code>, stays part of the surrounding text.
+ * </p>
+ * <p>
+ * The input is walked once and only span offsets are recorded; strings are cut out,
+ * already trimmed, when a part is asked for.
+ * </p>
+ */
+public final class InputScanner {
+    private static final String[] NO_FLAGS = {};
+
+    private final String input;
+    private final int restStart;
+    private final int end;
+    private final String command;
+    private String[] flagNames = NO_FLAGS;
+    private int descriptionEnd;
+    private int[] valueStarts;
+    private int[] valueEnds;
+    private int[] counts;
+
+    private InputScanner(String input, boolean hasCommand) {
+        this.input = input;
+        this.end = trimEnd(input, 0, input.length());
+        int start = skipWhitespace(input, 0, end);
+        if (hasCommand) {
+            int commandEnd = start;
+            while (commandEnd < end && !Character.isWhitespace(input.charAt(commandEnd))) {
+                commandEnd++;
+            }
+            this.command = input.substring(start, commandEnd);
+            start = skipWhitespace(input, commandEnd, end);
+        } else {
+            this.command = "";
+        }
+        this.restStart = start;
+        this.descriptionEnd = end;
+    }
+
+    /**
+     * Reads the command word of a full input line, e.g. <code>deadline return book /by 2025-03-24</code>.
+     * Flags are only looked for once {@link #scanFlags(String...)} is called.
+     * @param input whole input line
+     * @return scanner positioned after the command word
+     */
+    public static InputScanner ofCommand(String input) {
+        return new InputScanner(input, true);
+    }
+
+    /**
+     * Wraps text that has no command word, e.g. <code>return book /by 2025-03-24</code>.
+     * @param input arguments of a command
+     * @return scanner positioned at the start of the text
+     */
+    public static InputScanner ofArguments(String input) {
+        return new InputScanner(input, false);
+    }
+
+    /**
+     * Splits the text after the command word into the description and the values of the given flags.
+     * Each value runs up to the next flag or the end of the line.
+     * @param names flag names without the slash, e.g. <code>"by"</code>
+     * @return this scanner
+     */
+    public InputScanner scanFlags(String... names) {
+        flagNames = names;
+        valueStarts = new int[names.length];
+        valueEnds = new int[names.length];
+        counts = new int[names.length];
+        descriptionEnd = end;
+        if (names.length == 0) {
+            return this;
+        }
+
+        int open = -1;
+        for (int i = restStart; i < end; i++) {
+            if (input.charAt(i) != '/' || (i > restStart && !Character.isWhitespace(input.charAt(i - 1)))) {
+                continue;
+            }
+            int flag = flagAt(i + 1);
+            if (flag < 0) {
+                continue;
+            }
+            if (open >= 0) {
+                if (counts[open] == 1) {
+                    valueEnds[open] = i;
+                }
+            } else {
+                descriptionEnd = i;
+            }
+            counts[flag]++;
+            if (counts[flag] == 1) {
+                valueStarts[flag] = i + 1 + names[flag].length();
+                valueEnds[flag] = end;
+            }
+            open = flag;
+            i += names[flag].length();
+        }
+        return this;
+    }
+
+    /**
+     * Returns the index of the flag whose name starts at <code>pos</code> and is followed by
+     * whitespace or the end of the line, or -1 if there is none.
+     */
+    private int flagAt(int pos) {
+        for (int f = 0; f < flagNames.length; f++) {
+            String name = flagNames[f];
+            int after = pos + name.length();
+            if (after <= end && input.regionMatches(true, pos, name, 0, name.length())
+                    && (after == end || Character.isWhitespace(input.charAt(after)))) {
+                return f;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the command word as typed.
+     * @return first word of the line, or an empty string for argument-only input
+     */
+    public String command() {
+        return command;
+    }
+
+    /**
+     * Returns whether anything follows the command word.
+     * @return true if there is non-blank text after the command
+     */
+    public boolean hasRest() {
+        return restStart < end;
+    }
+
+    /**
+     * Returns all text after the command word, trimmed, flags included.
+     * @return the command's arguments, possibly empty
+     */
+    public String rest() {
+        return input.substring(restStart, end);
+    }
+
+    /**
+     * Returns the text between the command word and the first flag, trimmed.
+     * @return description, possibly empty
+     */
+    public String description() {
+        return input.substring(restStart, trimEnd(input, restStart, descriptionEnd));
+    }
+
+    /**
+     * Returns the trimmed value of the first occurrence of a flag.
+     * @param name flag name passed to {@link #scanFlags(String...)}
+     * @return flag value, possibly empty, or null if the flag does not occur
+     */
+    public String flag(String name) {
+        int f = indexOf(name);
+        if (counts[f] == 0) {
+            return null;
+        }
+        int valueEnd = trimEnd(input, valueStarts[f], valueEnds[f]);
+        return input.substring(skipWhitespace(input, valueStarts[f], valueEnd), valueEnd);
+    }
+
+    /**
+     * Returns how many times a flag occurs.
+     * @param name flag name passed to {@link #scanFlags(String...)}
+     * @return occurrence count
+     */
+    public int flagCount(String name) {
+        return counts[indexOf(name)];
+    }
+
+    private int indexOf(String name) {
+        for (int f = 0; f < flagNames.length; f++) {
+            if (flagNames[f].equals(name)) {
+                return f;
+            }
+        }
+        throw new IllegalArgumentException("Flag was not scanned: " + name);
+    }
+
+    private static int skipWhitespace(String s, int from, int to) {
+        while (from < to && Character.isWhitespace(s.charAt(from))) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(String s, int from, int to) {
+        while (to > from && Character.isWhitespace(s.charAt(to - 1))) {
+            to--;
+        }
+        return to;
+    }
+}
@@ -17,6 +17,7 @@ import javafx.stage.Stage;
  */
 public class Main extends Application {
     private Cat cat;
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -39,10 +40,44 @@ public class Main extends Application {
             stage.setMinHeight(220);
             stage.setMinWidth(417);
 
-            fxmlLoader.<MainWindow>getController().setCat(cat); // inject the Cat instance
+            mainWindow = fxmlLoader.getController();
+            mainWindow.setCat(cat); // inject the Cat instance
+            applyScrollbackLimit();
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Applies the <code>--scrollback=N</code> launch option, which limits how many messages the window keeps.
+     */
+    private void applyScrollbackLimit() {
+        String limit = getParameters().getNamed().get("scrollback");
+        if (limit == null) {
+            return;
+        }
+        try {
+            mainWindow.setScrollbackLimit(Integer.parseInt(limit));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring invalid scrollback limit: " + limit);
+        }
+    }
+
+    /**
+     * Finishes queued commands and flushes pending journal writes when the window is closed.
+     */
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown();
+        }
+        if (cat != null) {
+            try {
+                cat.flush();
+            } catch (IOException e) {
+                System.err.println(Cat.SAVE_ERROR_PREFIX + e.getMessage());
+            }
+        }
+    }
 }
@@ -1,66 +1,109 @@
 package cat;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
 /**
  * Controller for the main GUI.
+ * <p>
+ * Commands run on a single background thread, so saving or listing a large task list never
+ * stalls the window. One thread also keeps the commands of the session in the order they were
+ * typed. Until its reply arrives, each command shows a pending bubble from the cat.
+ * </p>
  */
 public class MainWindow extends AnchorPane {
+    private static final String PENDING_TEXT = "\u2026";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private Transcript transcript;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Cat cat;
-
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/tom.png"));
-    private Image catImage = new Image(this.getClass().getResourceAsStream("/images/jerry.png"));
-
-    @FXML
-    public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-    }
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cat-commands");
+        t.setDaemon(true);
+        return t;
+    });
 
     /** Injects the Cat instance */
     public void setCat(Cat c) {
         cat = c;
-        String greeting = cat.greeting();
-        dialogContainer.getChildren().add(
-                DialogBox.getCatDialog(greeting, catImage)
-        );
+        transcript.append(Message.cat(cat.greeting()));
+    }
+
+    /**
+     * Sets how many messages the transcript keeps before dropping the oldest.
+     * @param limit maximum message count, at least 1
+     */
+    public void setScrollbackLimit(int limit) {
+        transcript.setScrollbackLimit(limit);
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Cat's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Echoes the user input with a pending reply from Cat, clears the input and queues the command.
+     * The pending reply is filled in on the FX thread once the command has run.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
+        boolean isBye = cat.isBye(input);
 
-        String response = cat.respond(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getCatDialog(response, catImage)
-        );
+        Message pending = Message.pending(PENDING_TEXT);
+        transcript.append(Message.user(input));
+        transcript.append(pending);
         userInput.clear();
+        if (isBye) {
+            userInput.setDisable(true);
+            sendButton.setDisable(true);
+        }
+
+        commandExecutor.execute(() -> {
+            String response = run(input);
+            Platform.runLater(() -> {
+                transcript.resolve(pending, Message.cat(response));
+                if (isBye) {
+                    PauseTransition delay = new PauseTransition(Duration.seconds(1.5));
+                    delay.setOnFinished(event -> Platform.exit());
+                    delay.play();
+                }
+            });
+        });
+    }
+
+    /**
+     * Runs one command on the command thread. Unexpected failures become the reply,
+     * so the pending bubble is never left waiting.
+     */
+    private String run(String input) {
+        try {
+            return cat.respond(input);
+        } catch (RuntimeException e) {
+            return "OOPS!!! " + e.getMessage();
+        }
+    }
 
-        if ("bye".equalsIgnoreCase(input.trim())) {
-            PauseTransition delay = new PauseTransition(Duration.seconds(1.5));
-            delay.setOnFinished(event -> javafx.application.Platform.exit());
-            delay.play();
+    /**
+     * Stops taking commands and waits for the queued ones to finish, so none are lost on exit.
+     */
+    public void shutdown() {
+        commandExecutor.shutdown();
+        try {
+            commandExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 }
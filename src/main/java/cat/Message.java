@@ -0,0 +1,65 @@
+package cat;
+
+/**
+ * One entry of the chat transcript: who said it and what they said.
+ * <p>
+ * Messages are immutable. A reply that is still being computed is a pending Cat message,
+ * which the transcript swaps for the real reply once it arrives.
+ * </p>
+ */
+public final class Message {
+    /** Who a message comes from. */
+    public enum Speaker {
+        USER,
+        CAT
+    }
+
+    private final Speaker speaker;
+    private final String text;
+    private final boolean isPending;
+
+    private Message(Speaker speaker, String text, boolean isPending) {
+        this.speaker = speaker;
+        this.text = text;
+        this.isPending = isPending;
+    }
+
+    /**
+     * Creates a message typed by the user.
+     * @param text the user's input
+     * @return user message
+     */
+    public static Message user(String text) {
+        return new Message(Speaker.USER, text, false);
+    }
+
+    /**
+     * Creates a reply from Cat.
+     * @param text the reply
+     * @return Cat message
+     */
+    public static Message cat(String text) {
+        return new Message(Speaker.CAT, text, false);
+    }
+
+    /**
+     * Creates a placeholder for a Cat reply that has not arrived yet.
+     * @param text placeholder text
+     * @return pending Cat message
+     */
+    public static Message pending(String text) {
+        return new Message(Speaker.CAT, text, true);
+    }
+
+    public Speaker getSpeaker() {
+        return speaker;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isPending() {
+        return isPending;
+    }
+}
@@ -4,8 +4,6 @@ import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import cat.exception.EmptyException;
 import cat.exception.InvalidException;
@@ -21,6 +19,9 @@ import cat.task.Todo;
  * or <code>event project /from 2025-03-01 /to 2025-03-05</code>.
  */
 public class Parser {
+    private static final String BY = "by";
+    private static final String FROM = "from";
+    private static final String TO = "to";
     private static final Map<String, String> ALIASES = new HashMap<>();
     static {
         //Define aliases for each command
@@ -48,9 +49,8 @@ public class Parser {
      */
     public static Task parseTask(String input) throws EmptyException, InvalidException {
         assert input != null : "input must not be null";
-        // Trim and split into [command, rest]
-        String[] parts = input.trim().split("\\s+", 2);
-        String command = normalizeAlias(parts[0]); // map aliases (dl→deadline, etc.)
+        InputScanner line = InputScanner.ofCommand(input);
+        String command = normalizeAlias(line.command()); // map aliases (dl→deadline, etc.)
 
         switch (command) {
         case "deadline":
@@ -61,18 +61,17 @@ public class Parser {
             throw new InvalidException("oops i don't know what that means :(");
         }
 
-        if (parts.length < 2 || parts[1].trim().isEmpty()) {
+        if (!line.hasRest()) {
             throw new EmptyException("oops the description of a task cannot be empty.");
         }
-        String rest = parts[1].trim();
 
         switch (command) {
         case "deadline":
-            return parseDeadline(rest);
+            return parseDeadline(line.scanFlags(BY));
         case "todo":
-            return parseTodo(rest);
+            return parseTodo(line.rest());
         case "event":
-            return parseEvent(rest);
+            return parseEvent(line.scanFlags(FROM, TO));
         default:
             throw new InvalidException("oops i don't know what that means :(");
         }
@@ -123,13 +122,15 @@ public class Parser {
         if (input == null || input.isBlank()) {
             throw new EmptyException("OOPS!!! Provide a description and /by <yyyy-mm-dd>.");
         }
-        // Split by "/by" once; allow extra spaces around it
-        String[] split = input.split("\\s*/by\\s*", -1);
-        if (split.length != 2) {
+        return parseDeadline(InputScanner.ofArguments(input).scanFlags(BY));
+    }
+
+    private static Task parseDeadline(InputScanner line) throws EmptyException, InvalidException {
+        if (line.flagCount(BY) != 1) {
             throw new EmptyException("OOPS!!! Use: deadline <desc> /by <yyyy-mm-dd>.");
         }
-        String desc = split[0].trim();
-        String dateStr = split[1].trim();
+        String desc = line.description();
+        String dateStr = line.flag(BY);
 
         if (desc.isEmpty()) {
             throw new EmptyException("OOPS!!! Deadline description is empty.");
@@ -166,34 +167,28 @@ public class Parser {
         if (input == null || input.isBlank()) {
             throw new EmptyException("OOPS!!! Provide a description, /from <date>, and /to <date>.");
         }
+        return parseEvent(InputScanner.ofArguments(input).scanFlags(FROM, TO));
+    }
 
-        // Robust flag extraction to detect duplicates like "/from ... /from ..."
-        // Pattern: capture segments for /from and /to; allow surrounding spaces.
-        Pattern pFrom = Pattern.compile("(?i)\\s*/from\\s+([^/]+?)\\s*(?=/to|$)");
-        Pattern pTo = Pattern.compile("(?i)\\s*/to\\s+(.+)$");
-
-        Matcher mFrom = pFrom.matcher(input);
-        Matcher mTo = pTo.matcher(input);
-
-        if (!mFrom.find() || !mTo.find()) {
+    private static Task parseEvent(InputScanner line) throws EmptyException, InvalidException {
+        String fromStr = line.flag(FROM);
+        String toStr = line.flag(TO);
+        if (fromStr == null || fromStr.isEmpty() || toStr == null || toStr.isEmpty()) {
             throw new EmptyException("OOPS!!! Use: event <desc> /from <yyyy-mm-dd> /to <yyyy-mm-dd>.");
         }
 
-        // Description is everything before first /from
-        String desc = input.substring(0, mFrom.start()).trim();
+        // Description is everything before the first flag
+        String desc = line.description();
         if (desc.isEmpty()) {
             throw new EmptyException("OOPS!!! Event description is empty.");
         }
         guardNoControlChars(desc);
 
-        String fromStr = mFrom.group(1).trim();
-        String toStr = mTo.group(1).trim();
-
         // Validate duplicates: ensure only one /from and one /to appear
-        if (mFrom.find()) {
+        if (line.flagCount(FROM) > 1) {
             throw new InvalidException("Multiple /from parameters detected.");
         }
-        if (pTo.matcher(input).results().count() > 1) {
+        if (line.flagCount(TO) > 1) {
             throw new InvalidException("Multiple /to parameters detected.");
         }
 
@@ -203,7 +198,7 @@ public class Parser {
         if (to.isBefore(from)) {
             throw new InvalidException("End date must be on or after start date.");
         }
-        return new Event(desc, fromStr, toStr, false);
+        return new Event(desc, from, to, false);
     }
 
     private static LocalDate parseIsoDate(String s, String messageIfFail) throws InvalidException, EmptyException {
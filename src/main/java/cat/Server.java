@@ -0,0 +1,216 @@
+package cat;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves one task store to several local clients over TCP, without the GUI.
+ * <p>
+ * The protocol is line based. A client sends one command per line, exactly as typed into
+ * the GUI, and gets back the reply lines followed by a line holding a single <code>.</code>;
+ * reply lines that start with a dot get one more dot in front, which the client removes.
+ * <code>bye</code> closes that connection only; the store is checkpointed once, when the server closes.
+ * </p>
+ * <p>
+ * Each connection is handled on its own thread. Commands are run one at a time under a
+ * single lock, so the task list never sees concurrent changes. The reply is only sent once
+ * the command's journal record is durable, and the wait happens outside the lock, so clients
+ * committing at the same moment share one journal write and fsync.
+ * The server only listens on the loopback interface.
+ * </p>
+ * Usage: <code>java cat.Server [--port &lt;N&gt;] [--data &lt;cat.txt&gt;]</code>
+ */
+public class Server implements Closeable {
+    /** Line that ends every reply. */
+    public static final String END_OF_REPLY = ".";
+    /** Port used when none is given on the command line. */
+    public static final int DEFAULT_PORT = 4242;
+
+    private static final String DEFAULT_STORAGE_PATH = "./data/cat.txt";
+    private static final String USAGE = "Usage: Server [--port <N>] [--data <cat.txt>]";
+
+    private final Cat cat;
+    private final Object commandLock = new Object();
+    private final ServerSocket serverSocket;
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService connections = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "cat-connection-" + connectionCount.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+
+    /**
+     * Starts listening on the loopback interface.
+     * The server takes over <code>bye</code> from <code>cat</code>, so that a client leaving never
+     * writes a full snapshot on its connection thread.
+     * @param cat application whose commands are served
+     * @param port TCP port, or 0 to pick a free one
+     * @throws IOException if the port cannot be bound
+     */
+    public Server(Cat cat, int port) throws IOException {
+        this.cat = cat;
+        cat.registerCommand("bye", input -> cat.goodbye());
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        this.acceptor = new Thread(this::acceptLoop, "cat-acceptor");
+        this.acceptor.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     * @return local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                openSockets.add(socket);
+                connections.execute(() -> serve(socket));
+            } catch (SocketException e) {
+                return; // closed
+            } catch (IOException e) {
+                System.err.println("Could not accept connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.strip();
+                if (command.isEmpty()) {
+                    continue;
+                }
+                writeReply(out, execute(command));
+                if (cat.isBye(command)) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to clean up beyond the socket.
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    /**
+     * Runs one command under the command lock, then waits outside it until its change is durable.
+     * If the journal cannot be written, the client gets the save error instead of the reply.
+     */
+    private String execute(String command) {
+        String reply;
+        synchronized (commandLock) {
+            reply = cat.respond(command);
+        }
+        try {
+            cat.flush();
+        } catch (IOException e) {
+            return Cat.SAVE_ERROR_PREFIX + e.getMessage();
+        }
+        return reply;
+    }
+
+    /**
+     * Writes a reply in the wire format: its lines, dot-stuffed, then the end-of-reply line.
+     */
+    static void writeReply(Writer out, String reply) throws IOException {
+        for (String line : reply.split("\r?\n")) {
+            if (line.startsWith(END_OF_REPLY)) {
+                out.write(END_OF_REPLY);
+            }
+            out.write(line);
+            out.write('\n');
+        }
+        out.write(END_OF_REPLY);
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Stops accepting connections, closes the open ones and checkpoints the store.
+     * @throws IOException if the final snapshot cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : openSockets) {
+            socket.close();
+        }
+        connections.shutdown();
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (commandLock) {
+            cat.checkpoint();
+        }
+    }
+
+    /**
+     * Entry point of the server mode. Runs until the process is stopped.
+     * @param args options, see the class description
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        String dataPath = DEFAULT_STORAGE_PATH;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                case "--data":
+                    dataPath = args[++i];
+                    break;
+                default:
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        try {
+            Server server = new Server(new Cat(dataPath), port);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                } catch (IOException e) {
+                    System.err.println(Cat.SAVE_ERROR_PREFIX + e.getMessage());
+                }
+            }));
+            System.out.println("cat is listening on " + InetAddress.getLoopbackAddress().getHostAddress()
+                    + ":" + server.getPort());
+        } catch (IOException e) {
+            System.err.println("OOPS!!! " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
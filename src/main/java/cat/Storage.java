@@ -1,39 +1,167 @@
 package cat;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import cat.exception.InvalidTaskIndexException;
+import cat.storage.BinaryFormat;
+import cat.storage.GroupCommitWriter;
+import cat.storage.Journal;
+import cat.storage.ParallelTextLoader;
+import cat.storage.SnapshotFormat;
 import cat.task.Deadline;
 import cat.task.Event;
 import cat.task.Task;
 import cat.task.TaskList;
+import cat.task.TaskStore;
+import cat.task.TaskNumbers;
 import cat.task.Todo;
 
 /**
  * Handles saving and loading of tasks from a text file.
  * A <code>Storage</code> object corresponds to a file on disk
- * that contains serialized tasks, e.g., <code>./data/cat.txt</code>.
+ * that contains serialized tasks, e.g., <code>./data/cat.txt</code>,
+ * plus a {@link Journal} of mutations made since that snapshot was written,
+ * e.g., <code>./data/cat.txt.log</code>.
+ * <p>
+ * Once the journal passes a size or record-count threshold it is rotated and
+ * folded into a fresh snapshot on a background thread. The snapshot starts with
+ * a <code># journal &lt;seq&gt;</code> header naming the last rotated log it contains,
+ * so a crash between swapping the snapshot and deleting that log never replays it twice.
+ * </p>
+ * <p>
+ * Snapshots are written as text or in the {@link BinaryFormat}; either is read back,
+ * so an existing text file migrates to binary on its next snapshot.
+ * </p>
+ * <p>
+ * In asynchronous mode journal records are handed to a {@link GroupCommitWriter}, which
+ * merges bursts of mutations into one write; {@link #flush()} waits for them to land.
+ * Locks are always taken in the order snapshot, journal, sequence.
+ * </p>
+ * <p>
+ * In deferred mode (see {@link #setDeferred(boolean)}) nothing is journaled and changes
+ * reach disk only through {@link #save(TaskStore)}, which suits bulk imports.
+ * </p>
  */
 public class Storage {
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String SNAPSHOT_HEADER = "# journal ";
+    private static final String NEXT_ID_HEADER = "# next-id ";
+    private static final String COMMENT_PREFIX = "#";
+    private static final String RECORD_SEPARATOR = " | ";
+    private static final String OP_ADD = "add";
+    private static final String OP_MARK = "mark";
+    private static final String OP_UNMARK = "unmark";
+    private static final String OP_DELETE = "delete";
+    private static final int DEFAULT_MAX_JOURNAL_RECORDS = 10_000;
+    private static final long DEFAULT_MAX_JOURNAL_BYTES = 1L << 20;
+    private static final int GROUP_COMMIT_BATCH_SIZE = 512;
+    private static final long PARALLEL_LOAD_BYTES = 1L << 20;
+    private static final long GROUP_COMMIT_WINDOW_MILLIS = 2;
+
     private final Path filePath;
+    private final Journal journal;
+    private final int maxJournalRecords;
+    private final long maxJournalBytes;
+    private final GroupCommitWriter writer;
+    private final SnapshotFormat format;
+
+    private final Object snapshotLock = new Object();
+    private final Object journalLock = new Object();
+    private final Object seqLock = new Object();
+    private final AtomicBoolean isCompacting = new AtomicBoolean(false);
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cat-compactor");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile Future<?> pendingCompaction;
+    private volatile boolean isDeferred;
+    private long nextJournalSeq = 1;
+    private boolean isSeqInitialized;
+
+    private TaskStore lastSavedList;
+    private long lastSavedModCount;
+    private long loadedNextId = 1;
+    private long writesPerformed;
+    private long writesSkipped;
 
     /**
      * Creates a new storage object that uses the given file path.
+     * The journal is kept next to it, with <code>.log</code> appended to the name.
      * @param filePath path to the file, e.g., <code>./data/cat.txt</code>
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Creates a new storage object that uses the given file path.
+     * @param filePath path to the file, e.g., <code>./data/cat.txt</code>
+     * @param isAsync whether journal records are group-committed on a background thread
+     */
+    public Storage(String filePath, boolean isAsync) {
+        this(filePath, DEFAULT_MAX_JOURNAL_RECORDS, DEFAULT_MAX_JOURNAL_BYTES, isAsync, SnapshotFormat.TEXT);
+    }
+
+    /**
+     * Creates a new storage object that writes snapshots in the given format.
+     * @param filePath path to the file, e.g., <code>./data/cat.txt</code>
+     * @param isAsync whether journal records are group-committed on a background thread
+     * @param format layout of snapshots written from now on
+     */
+    public Storage(String filePath, boolean isAsync, SnapshotFormat format) {
+        this(filePath, DEFAULT_MAX_JOURNAL_RECORDS, DEFAULT_MAX_JOURNAL_BYTES, isAsync, format);
+    }
+
+    /**
+     * Creates a new storage object with custom compaction thresholds.
+     * @param filePath path to the file, e.g., <code>./data/cat.txt</code>
+     * @param maxJournalRecords journal record count that triggers a compaction
+     * @param maxJournalBytes journal size in bytes that triggers a compaction
+     * @param isAsync whether journal records are group-committed on a background thread
+     * @param format layout of snapshots written from now on
+     */
+    public Storage(String filePath, int maxJournalRecords, long maxJournalBytes, boolean isAsync,
+            SnapshotFormat format) {
         this.filePath = Path.of(filePath);
+        this.format = format;
+        this.journal = new Journal(Path.of(filePath + JOURNAL_SUFFIX));
+        this.maxJournalRecords = maxJournalRecords;
+        this.maxJournalBytes = maxJournalBytes;
+        this.writer = isAsync
+                ? new GroupCommitWriter(this::appendBatch, GROUP_COMMIT_BATCH_SIZE, GROUP_COMMIT_WINDOW_MILLIS)
+                : null;
     }
 
     /**
-     * Loads tasks from the storage file.
+     * Loads tasks from the storage file and replays the journal on top of them.
+     * Rotated logs that a compaction has not yet folded in are replayed first, oldest first.
      * If the file does not exist, it is created.
-     * Corrupted lines are skipped.
+     * Corrupted lines and journal records are skipped.
      * @return list of tasks read from file
      * @throws IOException if the file cannot be read or created
      */
@@ -48,78 +176,587 @@ public class Storage {
         // Ensure file exists
         if (Files.notExists(filePath)) {
             Files.createFile(filePath);
-            return new ArrayList<>();
         }
 
+        synchronized (snapshotLock) {
+            long snapshotSeq = readSnapshot(tasks);
+            long nextId = assignIds(tasks, readSnapshotNextId());
+            long lastSeq = snapshotSeq;
+            for (Map.Entry<Long, Path> rotated : journal.listRotated().tailMap(snapshotSeq + 1).entrySet()) {
+                nextId = replay(tasks, Journal.readRecords(rotated.getValue()), nextId);
+                lastSeq = rotated.getKey();
+            }
+            synchronized (seqLock) {
+                nextJournalSeq = Math.max(nextJournalSeq, lastSeq + 1);
+                isSeqInitialized = true;
+            }
+            synchronized (journalLock) {
+                nextId = replay(tasks, journal.readAll(), nextId);
+            }
+            loadedNextId = nextId;
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the first task ID that no task has had, as far as the last {@link #load()} could tell
+     * from the snapshot header and the journaled additions, including those deleted since.
+     * Pass it to {@link TaskList#TaskList(ArrayList, long)} so IDs are never reused.
+     * @return next unused task ID, or 1 if nothing has been loaded
+     */
+    public long getNextId() {
+        synchronized (snapshotLock) {
+            return loadedNextId;
+        }
+    }
+
+    /**
+     * Reads the snapshot file into <code>tasks</code>, in whichever format it was written.
+     * @param tasks list to add the parsed tasks to
+     * @return sequence number of the last rotated log contained in the snapshot, or 0 if none
+     * @throws IOException if the file cannot be read
+     */
+    private long readSnapshot(List<Task> tasks) throws IOException {
+        if (Files.notExists(filePath)) {
+            return 0;
+        }
+        if (BinaryFormat.isBinary(filePath)) {
+            return BinaryFormat.read(filePath, tasks);
+        }
+        return readTextSnapshot(tasks);
+    }
+
+    /**
+     * Reads a text snapshot into <code>tasks</code>, skipping corrupted lines.
+     * Files of at least {@value #PARALLEL_LOAD_BYTES} bytes are parsed in parallel by
+     * {@link ParallelTextLoader}; the result is the same as reading them line by line.
+     * @param tasks list to add the parsed tasks to
+     * @return sequence number named in the header, or 0 if there is none
+     * @throws IOException if the file cannot be read
+     */
+    private long readTextSnapshot(List<Task> tasks) throws IOException {
+        if (Files.size(filePath) >= PARALLEL_LOAD_BYTES) {
+            return ParallelTextLoader.load(filePath, this::readLine, tasks);
+        }
+        long seq = 0;
         //read each line until end of file
         try (var lines = Files.lines(filePath)) {
-            lines.forEach(raw -> {
-                String line = raw == null ? "" : raw.trim();
-                if (line.isEmpty()) {
-                    return; // skip blanks
-                }
-                try {
-                    tasks.add(parseTask(line));
-                } catch (Exception ex) {
-                    // Skip corrupted line, optionally log:
-                    System.err.println("Skipping corrupted line: \"" + line + "\" (" + ex.getMessage() + ")");
+            for (String raw : (Iterable<String>) lines::iterator) {
+                seq = Math.max(seq, readLine(raw, tasks));
+            }
+        }
+        return seq;
+    }
+
+    /**
+     * Parses one snapshot line into <code>tasks</code>.
+     * Blank lines are ignored and corrupted lines are reported and skipped.
+     * Safe to call from several threads at once.
+     * @param raw line as read from the file
+     * @param tasks list to add the parsed task to
+     * @return sequence number if the line is the snapshot header, otherwise -1
+     */
+    private long readLine(String raw, List<Task> tasks) {
+        String line = raw == null ? "" : raw.trim();
+        if (line.isEmpty()) {
+            return -1; // skip blanks
+        }
+        if (line.startsWith(SNAPSHOT_HEADER)) {
+            return Long.parseLong(line.substring(SNAPSHOT_HEADER.length()).trim());
+        }
+        if (line.startsWith(COMMENT_PREFIX)) {
+            return -1; // other headers, e.g. the next task ID, are read by readSnapshotNextId
+        }
+        try {
+            tasks.add(parseTask(line));
+        } catch (Exception ex) {
+            // Skip corrupted line, optionally log:
+            System.err.println("Skipping corrupted line: \"" + line + "\" (" + ex.getMessage() + ")");
+        }
+        return -1;
+    }
+
+    /**
+     * Reads only the header of the snapshot file.
+     * @return sequence number named in the header, or 0 if there is none
+     * @throws IOException if the file cannot be read
+     */
+    private long readSnapshotSeq() throws IOException {
+        if (Files.notExists(filePath)) {
+            return 0;
+        }
+        if (BinaryFormat.isBinary(filePath)) {
+            return BinaryFormat.readJournalSeq(filePath);
+        }
+        try (var lines = Files.lines(filePath)) {
+            return lines.findFirst()
+                    .filter(line -> line.startsWith(SNAPSHOT_HEADER))
+                    .map(line -> Long.parseLong(line.substring(SNAPSHOT_HEADER.length()).trim()))
+                    .orElse(0L);
+        }
+    }
+
+    /**
+     * Reads the next task ID from the snapshot header.
+     * @return next unused task ID named in the header, or 1 if the snapshot predates task IDs
+     * @throws IOException if the file cannot be read
+     */
+    private long readSnapshotNextId() throws IOException {
+        if (Files.notExists(filePath)) {
+            return 1;
+        }
+        if (BinaryFormat.isBinary(filePath)) {
+            return BinaryFormat.readNextId(filePath);
+        }
+        try (var lines = Files.lines(filePath)) {
+            return lines.takeWhile(line -> line.startsWith(COMMENT_PREFIX))
+                    .filter(line -> line.startsWith(NEXT_ID_HEADER))
+                    .map(line -> Long.parseLong(line.substring(NEXT_ID_HEADER.length()).trim()))
+                    .findFirst()
+                    .orElse(1L);
+        }
+    }
+
+    /**
+     * Gives every task without an ID the next one in list order, and moves <code>nextId</code>
+     * past every ID seen. Files written before tasks had IDs thus get the same IDs on every load,
+     * and keep them once the next snapshot writes them out.
+     * @param tasks tasks in list order
+     * @param nextId next unused ID
+     * @return next unused ID after the tasks
+     */
+    private static long assignIds(List<Task> tasks, long nextId) {
+        for (int i = 0; i < tasks.size(); i++) {
+            nextId = assignId(tasks, i, nextId);
+        }
+        return nextId;
+    }
+
+    private static long assignId(List<Task> tasks, int i, long nextId) {
+        Task task = tasks.get(i);
+        if (task.getId() <= 0) {
+            task = task.withId(nextId);
+            tasks.set(i, task);
+        }
+        return Math.max(nextId, task.getId() + 1);
+    }
+
+    /**
+     * Applies journal records, oldest first, to tasks loaded from the snapshot.
+     * @param tasks tasks read from the snapshot file
+     * @param records journal records in append order
+     * @param nextId next unused task ID before the records
+     * @return next unused task ID after them, counting tasks added and later deleted
+     */
+    private long replay(List<Task> tasks, List<String> records, long nextId) {
+        for (String record : records) {
+            if (record.isBlank()) {
+                continue;
+            }
+            try {
+                if (applyRecord(tasks, record)) {
+                    nextId = assignId(tasks, tasks.size() - 1, nextId);
                 }
-            });
+            } catch (Exception ex) {
+                System.err.println("Skipping corrupted journal record: \"" + record + "\" (" + ex.getMessage() + ")");
+            }
         }
-        return tasks;
+        return nextId;
     }
 
     /**
-     * Saves the given tasks to the storage file.
+     * Applies one journal record. Mark, unmark and delete records hold 0-based positions in the
+     * {@link TaskNumbers} text form, e.g. <code>delete | 2,8-39</code>, all resolved against the
+     * list before the record; a single position is the form written before batches existed.
+     * @return whether the record added a task, which is then the last one
+     */
+    private boolean applyRecord(List<Task> tasks, String record) throws InvalidTaskIndexException {
+        String[] parts = record.split(" \\| ", 2);
+        String op = parts[0];
+        String arg = parts[1];
+
+        switch (op) {
+        case OP_ADD:
+            tasks.add(parseTask(arg));
+            return true;
+        case OP_MARK:
+            setDone(tasks, arg, true);
+            break;
+        case OP_UNMARK:
+            setDone(tasks, arg, false);
+            break;
+        case OP_DELETE:
+            TaskNumbers.parse(arg, 0, tasks.size()).removeFrom(tasks);
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown journal operation: " + op);
+        }
+        return false;
+    }
+
+    /**
+     * Replaces the tasks at the given positions with copies that have the given status.
+     */
+    private static void setDone(List<Task> tasks, String positions, boolean isDone)
+            throws InvalidTaskIndexException {
+        TaskNumbers taskNums = TaskNumbers.parse(positions, 0, tasks.size());
+        for (int i = 0; i < taskNums.size(); i++) {
+            int pos = taskNums.get(i);
+            tasks.set(pos, tasks.get(pos).withDone(isDone));
+        }
+    }
+
+    /**
+     * Saves the given tasks to the storage file and drops every journal record,
+     * since the new snapshot already contains them.
      * Each task is written in its save format, e.g.,
      * <code>T | X | read book</code>.
+     * The write is skipped if <code>tasks</code> has not been modified since it was last
+     * saved successfully. Waits for queued journal records and a running compaction to finish first.
+     * Must be called from the thread that issues mutations, so no record is queued mid-save.
+     * If a queued record could not be written, the snapshot is written anyway and journaling resumes,
+     * since the snapshot no longer needs the lost records.
      * @param tasks list of tasks to save
      * @throws IOException if the file cannot be written
      */
-    public void save(TaskList tasks) throws IOException {
+    public void save(TaskStore tasks) throws IOException {
+        if (writer != null) {
+            writer.drain();
+        }
+        synchronized (snapshotLock) {
+            long modCount = tasks.getModCount();
+            boolean isJournalBroken = writer != null && writer.hasFailed();
+            if (!isJournalBroken && tasks == lastSavedList && modCount == lastSavedModCount) {
+                writesSkipped++;
+                return;
+            }
+            long seq;
+            synchronized (journalLock) {
+                seq = allocateSeq();
+                journal.rotate(seq);
+            }
+            writeSnapshot(tasks.getTasks(), seq, tasks.getNextId());
+            journal.deleteRotatedUpTo(seq);
+            if (isJournalBroken) {
+                writer.clearFailure();
+            }
+            lastSavedList = tasks;
+            lastSavedModCount = modCount;
+            writesPerformed++;
+        }
+    }
+
+    /**
+     * Returns the number of times {@link #save(TaskStore)} actually rewrote the storage file.
+     * @return count of performed snapshot writes
+     */
+    public long getWritesPerformed() {
+        synchronized (snapshotLock) {
+            return writesPerformed;
+        }
+    }
+
+    /**
+     * Returns the number of times {@link #save(TaskStore)} was skipped because nothing had changed.
+     * @return count of skipped snapshot writes
+     */
+    public long getWritesSkipped() {
+        synchronized (snapshotLock) {
+            return writesSkipped;
+        }
+    }
+
+    /**
+     * Returns the next unused journal sequence number.
+     * If nothing has been loaded yet, existing rotated logs and the snapshot header
+     * are consulted first so that a new number never collides with one already on disk.
+     * @return sequence number for the next rotated log
+     * @throws IOException if the data directory cannot be read
+     */
+    private long allocateSeq() throws IOException {
+        synchronized (seqLock) {
+            if (!isSeqInitialized) {
+                SortedMap<Long, Path> rotated = journal.listRotated();
+                long lastSeq = rotated.isEmpty() ? 0 : rotated.lastKey();
+                lastSeq = Math.max(lastSeq, readSnapshotSeq());
+                nextJournalSeq = Math.max(nextJournalSeq, lastSeq + 1);
+                isSeqInitialized = true;
+            }
+            return nextJournalSeq++;
+        }
+    }
+
+    /**
+     * Writes a snapshot to a temporary file, forces it to disk and atomically moves it over
+     * the storage file, so readers and a restart after a crash only ever see the old or the
+     * new snapshot in full.
+     * @param tasks tasks to write
+     * @param seq sequence number of the last rotated log contained in <code>tasks</code>
+     * @param nextId first task ID not used by any task so far, deleted ones included
+     * @throws IOException if the file cannot be written
+     */
+    private void writeSnapshot(List<Task> tasks, long seq, long nextId) throws IOException {
         Path dir = filePath.getParent();
         if (dir != null) {
             Files.createDirectories(dir);
         }
-        List<String> lines = new ArrayList<>();
-        for (Task t : tasks.getTasks()) {
-            lines.add(t.toSaveFormat());
+        Path temp = filePath.resolveSibling(filePath.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            if (format == SnapshotFormat.BINARY) {
+                BinaryFormat.write(out, tasks, seq, nextId);
+            } else {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                writer.write(SNAPSHOT_HEADER + seq);
+                writer.write(System.lineSeparator());
+                writer.write(NEXT_ID_HEADER + nextId);
+                writer.write(System.lineSeparator());
+                for (Task t : tasks) {
+                    writer.write(toLine(t));
+                    writer.write(System.lineSeparator());
+                }
+                writer.flush();
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, filePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(filePath.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces a directory entry change such as a rename to disk.
+     * Not every platform can open a directory for this (e.g. Windows), in which case it is skipped.
+     */
+    private static void syncDirectory(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directory sync is best effort; the snapshot itself has already been forced.
+        }
+    }
+
+    /**
+     * Appends an added task to the journal.
+     * @param task task that was added to the end of the list
+     * @return future completed once the record is durable
+     * @throws IOException if the journal cannot be written
+     */
+    public CompletableFuture<Void> logAdd(Task task) throws IOException {
+        return append(OP_ADD + RECORD_SEPARATOR + toLine(task));
+    }
+
+    /**
+     * Appends a mark-as-done of several tasks to the journal as one record.
+     * @param taskNums positions of the marked tasks
+     * @return future completed once the record is durable
+     * @throws IOException if the journal cannot be written
+     */
+    public CompletableFuture<Void> logMark(TaskNumbers taskNums) throws IOException {
+        return append(OP_MARK + RECORD_SEPARATOR + taskNums.format(0));
+    }
+
+    /**
+     * Appends a mark-as-not-done of several tasks to the journal as one record.
+     * @param taskNums positions of the unmarked tasks
+     * @return future completed once the record is durable
+     * @throws IOException if the journal cannot be written
+     */
+    public CompletableFuture<Void> logUnmark(TaskNumbers taskNums) throws IOException {
+        return append(OP_UNMARK + RECORD_SEPARATOR + taskNums.format(0));
+    }
+
+    /**
+     * Appends a deletion of several tasks to the journal as one record.
+     * @param taskNums positions of the deleted tasks, as they were before the deletion
+     * @return future completed once the record is durable
+     * @throws IOException if the journal cannot be written
+     */
+    public CompletableFuture<Void> logDelete(TaskNumbers taskNums) throws IOException {
+        return append(OP_DELETE + RECORD_SEPARATOR + taskNums.format(0));
+    }
+
+    /**
+     * Turns journaling off or back on.
+     * While deferred, the <code>logX</code> methods write nothing and only {@link #save(TaskStore)}
+     * persists changes, so a crash loses everything since the last save.
+     * Callers should save before leaving deferred mode, or the changes made in it are never journaled.
+     * @param isDeferred true to stop journaling mutations
+     * @throws IOException if records queued before deferring cannot be written
+     */
+    public void setDeferred(boolean isDeferred) throws IOException {
+        flush();
+        this.isDeferred = isDeferred;
+    }
+
+    /**
+     * Writes one record, either directly or through the group-commit writer.
+     * In asynchronous mode write failures surface through the returned future, and every
+     * later record is refused with the same failure until the next {@link #save(TaskStore)}.
+     */
+    private CompletableFuture<Void> append(String record) throws IOException {
+        if (isDeferred) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (writer != null) {
+            return writer.submit(record);
+        }
+        appendBatch(List.of(record));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Appends a batch of records to the live journal and starts a compaction
+     * if the journal has grown past its thresholds.
+     * @param records records in order
+     * @throws IOException if the journal cannot be written or rotated
+     */
+    private void appendBatch(List<String> records) throws IOException {
+        synchronized (journalLock) {
+            journal.appendAll(records);
+            if (journal.getRecordCount() >= maxJournalRecords || journal.getByteCount() >= maxJournalBytes) {
+                scheduleCompaction();
+            }
+        }
+    }
+
+    /**
+     * Blocks until every journal record queued so far has been written.
+     * Returns immediately in synchronous mode.
+     * @throws IOException if a queued record could not be written
+     */
+    public void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Rotates the live journal and folds it into the snapshot on the compactor thread.
+     * Rotation is a single rename, so the caller is never blocked on the rewrite.
+     * Does nothing if a compaction is already running; the next append past the
+     * threshold will try again. Callers must hold <code>journalLock</code>.
+     * @throws IOException if the journal cannot be rotated
+     */
+    private void scheduleCompaction() throws IOException {
+        if (!isCompacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long seq = allocateSeq();
+            journal.rotate(seq);
+            pendingCompaction = compactor.submit(() -> compact(seq));
+        } catch (IOException | RuntimeException e) {
+            isCompacting.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot from the current snapshot file and every rotated log up to
+     * <code>seq</code>, swaps it in, then deletes those logs.
+     * Works only on files, never on the live {@link TaskList}.
+     * Failures are reported and left for the next compaction to retry.
+     * @param seq sequence number of the newest rotated log to fold in
+     */
+    private void compact(long seq) {
+        try {
+            synchronized (snapshotLock) {
+                List<Task> tasks = new ArrayList<>();
+                long snapshotSeq = readSnapshot(tasks);
+                if (snapshotSeq < seq) {
+                    long nextId = assignIds(tasks, readSnapshotNextId());
+                    for (Path rotated : journal.listRotated().subMap(snapshotSeq + 1, seq + 1).values()) {
+                        nextId = replay(tasks, Journal.readRecords(rotated), nextId);
+                    }
+                    writeSnapshot(tasks, seq, nextId);
+                }
+                journal.deleteRotatedUpTo(seq);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Journal compaction failed: " + e.getMessage());
+        } finally {
+            isCompacting.set(false);
+        }
+    }
+
+    /**
+     * Blocks until the compaction currently running, if any, has finished.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitCompaction() throws InterruptedException {
+        Future<?> pending = pendingCompaction;
+        if (pending == null) {
+            return;
+        }
+        try {
+            pending.get();
+        } catch (ExecutionException e) {
+            System.err.println("Journal compaction failed: " + e.getCause());
         }
-        Files.write(
-                filePath,
-                lines,
-                StandardOpenOption.TRUNCATE_EXISTING,
-                StandardOpenOption.CREATE,
-                StandardOpenOption.WRITE
-        );
     }
 
     /**
      * Parses one line of text into a task object.
+     * The line may start with the task's ID, e.g. <code>12 | T | X | read book</code>;
+     * lines written before tasks had IDs have none, and the task is left without one.
      * @param line task data string, e.g., <code>D | 0 | return book | 2025-03-24</code>
             * @return task parsed from the line
      * @throws IllegalArgumentException if the task type is unknown
      */
     public Task parseTask(String line) {
         String[] parts = line.split(" \\| ");
-        String type = parts[0];
-        boolean isDone = parts[1].equals("X");
-        String description = parts[2];
+        int f = isId(parts[0]) ? 1 : 0;
+        String type = parts[f];
+        boolean isDone = parts[f + 1].equals("X");
+        String description = parts[f + 2];
         //will automatically throw exception if too few words
 
+        Task task;
         switch (type) {
         case "T":
-            return new Todo(description, isDone);
+            task = new Todo(description, isDone);
+            break;
         case "D":
-            String by = parts[3];
-            return new Deadline(description, LocalDate.parse(by), isDone);
+            String by = parts[f + 3];
+            task = new Deadline(description, LocalDate.parse(by), isDone);
+            break;
         case "E":
-            String from = parts[3];
-            String to = parts[4];
-            return new Event(description, from, to, isDone);
+            String from = parts[f + 3];
+            String to = parts[f + 4];
+            task = new Event(description, from, to, isDone);
+            break;
         default:
             throw new IllegalArgumentException("Unknown task type: " + line);
         }
+        return f == 1 ? task.withId(Long.parseLong(parts[0])) : task;
+    }
+
+    private static boolean isId(String field) {
+        if (field.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < field.length(); i++) {
+            if (field.charAt(i) < '0' || field.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a task in its text form, prefixed by its ID if it has one,
+     * e.g. <code>12 | T | X | read book</code>.
+     */
+    private static String toLine(Task task) {
+        return task.getId() > 0 ? task.getId() + RECORD_SEPARATOR + task.toSaveFormat() : task.toSaveFormat();
     }
 
 }
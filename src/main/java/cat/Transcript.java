@@ -0,0 +1,81 @@
+package cat;
+
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * Scrolling view of the conversation.
+ * <p>
+ * Being a {@link ListView}, it only builds cells for the messages on screen and reuses them
+ * while scrolling, so a long session does not grow the scene graph. Only the latest
+ * {@link #getScrollbackLimit()} messages are kept; older ones are dropped from the top.
+ * </p>
+ */
+public class Transcript extends ListView<Message> {
+    /** Number of messages kept when no limit is set. */
+    public static final int DEFAULT_SCROLLBACK_LIMIT = 2000;
+
+    private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/tom.png"));
+    private final Image catImage = new Image(this.getClass().getResourceAsStream("/images/jerry.png"));
+    private int scrollbackLimit = DEFAULT_SCROLLBACK_LIMIT;
+
+    /**
+     * Creates an empty transcript.
+     */
+    public Transcript() {
+        getStyleClass().add("transcript");
+        setFocusTraversable(false);
+        setCellFactory(view -> new TranscriptCell(userImage, catImage));
+    }
+
+    public int getScrollbackLimit() {
+        return scrollbackLimit;
+    }
+
+    /**
+     * Sets how many messages are kept, dropping the oldest ones if there are more already.
+     * @param limit maximum message count, at least 1
+     */
+    public void setScrollbackLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Scrollback limit must be positive: " + limit);
+        }
+        scrollbackLimit = limit;
+        trim();
+    }
+
+    /**
+     * Adds a message at the bottom and scrolls to it.
+     * @param message message to show
+     */
+    public void append(Message message) {
+        getItems().add(message);
+        trim();
+        scrollTo(getItems().size() - 1);
+    }
+
+    /**
+     * Replaces a pending message with its reply. Does nothing if the pending message
+     * has already scrolled out of the scrollback.
+     * @param pending message previously passed to {@link #append(Message)}
+     * @param reply message to show in its place
+     */
+    public void resolve(Message pending, Message reply) {
+        ObservableList<Message> items = getItems();
+        // Replies arrive in order, so the pending message is close to the bottom.
+        for (int i = items.size() - 1; i >= 0; i--) {
+            if (items.get(i) == pending) {
+                items.set(i, reply);
+                return;
+            }
+        }
+    }
+
+    private void trim() {
+        int excess = getItems().size() - scrollbackLimit;
+        if (excess > 0) {
+            getItems().remove(0, excess);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package cat;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.image.Image;
+
+/**
+ * List cell that shows one {@link Message} as a chat bubble.
+ * <p>
+ * Each cell keeps one user row and one Cat row and only swaps their text when it is
+ * reused for another message, so scrolling does not create new nodes.
+ * </p>
+ */
+class TranscriptCell extends ListCell<Message> {
+    private final Image userImage;
+    private final Image catImage;
+    private DialogBox userRow;
+    private DialogBox catRow;
+
+    TranscriptCell(Image userImage, Image catImage) {
+        this.userImage = userImage;
+        this.catImage = catImage;
+        // Size to the list's width instead of the bubble's, so long replies wrap rather than scroll sideways.
+        setPrefWidth(0);
+        getStyleClass().add("transcript-cell");
+    }
+
+    @Override
+    protected void updateItem(Message message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        setText(null);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        DialogBox row;
+        if (message.getSpeaker() == Message.Speaker.USER) {
+            if (userRow == null) {
+                userRow = DialogBox.getUserDialog(message.getText(), userImage);
+            }
+            row = userRow;
+        } else {
+            if (catRow == null) {
+                catRow = DialogBox.getCatDialog(message.getText(), catImage);
+            }
+            row = catRow;
+        }
+        row.show(message.getText(), message.isPending());
+        setGraphic(row);
+    }
+}
@@ -0,0 +1,26 @@
+package cat.command;
+
+import java.io.IOException;
+
+import cat.exception.EmptyException;
+import cat.exception.InvalidException;
+import cat.exception.InvalidTaskIndexException;
+
+/**
+ * Represents the handler for one command word, e.g. <code>mark</code>.
+ * Handlers are looked up in a {@link CommandRegistry} by the first word of the input.
+ */
+@FunctionalInterface
+public interface Command {
+    /**
+     * Runs the command and returns the message to display.
+     * @param input the whole input line, including the command word
+     * @return message to display (never {@code null})
+     * @throws IOException if the change cannot be written to storage
+     * @throws InvalidTaskIndexException if the input names a task that does not exist
+     * @throws EmptyException if a required part of the input is missing
+     * @throws InvalidException if the input is malformed
+     */
+    String execute(String input)
+            throws IOException, InvalidTaskIndexException, EmptyException, InvalidException;
+}
@@ -0,0 +1,81 @@
+package cat.command;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import cat.InputScanner;
+import cat.Parser;
+
+/**
+ * Maps command words to their handlers.
+ * <p>
+ * The first word of an input line is looked up as typed, then through
+ * {@link Parser#normalizeAlias(String)}, so user-defined aliases work for every command.
+ * Looking up the exact word first means a command such as <code>due</code> wins over an
+ * alias of the same name. Words that match nothing go to the fallback command.
+ * Each lookup is a single hash probe, however many commands are registered.
+ * </p>
+ */
+public class CommandRegistry {
+    private final Map<String, Command> commands = new HashMap<>();
+    private final Command fallback;
+
+    /**
+     * Creates an empty registry.
+     * @param fallback command run when the first word is not registered, e.g. task creation
+     */
+    public CommandRegistry(Command fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Registers a command, replacing any earlier command with the same word.
+     * @param word command word, e.g. <code>list</code>
+     * @param command handler to run for it
+     */
+    public void register(String word, Command command) {
+        commands.put(word, command);
+    }
+
+    /**
+     * Returns the handler for the first word of <code>input</code>.
+     * @param input whole input line
+     * @return registered command, or the fallback if there is none
+     */
+    public Command resolve(String input) {
+        String word = InputScanner.ofCommand(input).command();
+        Command command = commands.get(word);
+        if (command == null) {
+            command = commands.get(Parser.normalizeAlias(word));
+        }
+        return command != null ? command : fallback;
+    }
+
+    /**
+     * Returns the registered word that <code>input</code> runs, looked up the same way as by {@link #resolve(String)}.
+     * @param input whole input line
+     * @return command word, e.g. <code>bye</code> for an alias of it, or null if the fallback would run
+     */
+    public String commandWord(String input) {
+        String word = InputScanner.ofCommand(input).command();
+        if (commands.containsKey(word)) {
+            return word;
+        }
+        String canonical = Parser.normalizeAlias(word);
+        return commands.containsKey(canonical) ? canonical : null;
+    }
+
+    /**
+     * Returns the text after the first word of <code>input</code>, trimmed.
+     * @param input whole input line
+     * @return arguments of the command
+     * @throws ArrayIndexOutOfBoundsException if the input has nothing after its first word
+     */
+    public static String argumentsOf(String input) {
+        InputScanner line = InputScanner.ofCommand(input);
+        if (!line.hasRest()) {
+            throw new ArrayIndexOutOfBoundsException("missing argument after " + line.command());
+        }
+        return line.rest();
+    }
+}
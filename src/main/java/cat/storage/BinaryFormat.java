@@ -0,0 +1,268 @@
+package cat.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import cat.task.Deadline;
+import cat.task.Event;
+import cat.task.Task;
+import cat.task.Todo;
+
+/**
+ * Reads and writes task snapshots in a compact binary layout.
+ * <p>
+ * A file starts with the magic bytes <code>CATB</code>, a 2-byte version, the journal
+ * sequence number the snapshot contains (8 bytes), the next unused task ID (8 bytes)
+ * and the task count (4 bytes).
+ * Each task is then its 8-byte ID, one flags byte (type in bits 0-1, done in bit 2, "event
+ * bounds are epoch days" in bit 3), a length-prefixed UTF-8 description and its dates,
+ * followed by the CRC-32 of those bytes; reading stops at the first task that fails it
+ * and keeps the ones before.
+ * Deadline dates, and event bounds that are ISO dates, are stored as 4-byte epoch days,
+ * so loading never runs a date parser.
+ * Only this layout, version 3, is read. Versions 1 and 2 never left development, so no saved
+ * file uses them; text snapshots and journals keep reading every layout they ever had.
+ * </p>
+ */
+public final class BinaryFormat {
+    static final int MAGIC = 0x43415442; // "CATB"
+    static final short VERSION = 3;
+    private static final int SEQ_OFFSET = Integer.BYTES + Short.BYTES;
+    private static final int NEXT_ID_OFFSET = SEQ_OFFSET + Long.BYTES;
+    private static final int HEADER_BYTES = NEXT_ID_OFFSET + Long.BYTES + Integer.BYTES;
+
+    private static final int TYPE_TODO = 0;
+    private static final int TYPE_DEADLINE = 1;
+    private static final int TYPE_EVENT = 2;
+    private static final int TYPE_MASK = 0b11;
+    private static final int FLAG_DONE = 0b100;
+    private static final int FLAG_EPOCH_BOUNDS = 0b1000;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BinaryFormat() {
+        /* Utility class; do not instantiate. */
+    }
+
+    /**
+     * Checks whether the file starts with the binary magic bytes.
+     * Used to pick a reader, so existing text files keep loading after switching formats.
+     * @param file snapshot file
+     * @return true if the file is a binary snapshot
+     * @throws IOException if the file cannot be read
+     */
+    public static boolean isBinary(Path file) throws IOException {
+        if (Files.notExists(file)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] head = in.readNBytes(Integer.BYTES);
+            return head.length == Integer.BYTES && ByteBuffer.wrap(head).getInt() == MAGIC;
+        }
+    }
+
+    /**
+     * Writes a binary snapshot.
+     * @param out destination stream; it is flushed but not closed
+     * @param tasks tasks to write, in list order
+     * @param journalSeq sequence number of the last rotated journal contained in <code>tasks</code>
+     * @param nextId first task ID not used by any task so far
+     * @throws IOException if the stream cannot be written
+     */
+    public static void write(OutputStream out, List<Task> tasks, long journalSeq, long nextId) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeLong(journalSeq);
+        data.writeLong(nextId);
+        data.writeInt(tasks.size());
+        CRC32 crc = new CRC32();
+        DataOutputStream checked = new DataOutputStream(new CheckedOutputStream(data, crc));
+        for (Task task : tasks) {
+            crc.reset();
+            writeTask(checked, task);
+            data.writeInt((int) crc.getValue());
+        }
+        data.flush();
+    }
+
+    private static void writeTask(DataOutputStream data, Task task) throws IOException {
+        data.writeLong(task.getId());
+        int flags = task.isDone() ? FLAG_DONE : 0;
+        if (task instanceof Deadline) {
+            data.writeByte(flags | TYPE_DEADLINE);
+            writeString(data, task.getDescription());
+            data.writeInt((int) ((Deadline) task).getBy().toEpochDay());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            LocalDate from = toIsoDate(event.getFrom());
+            LocalDate to = toIsoDate(event.getTo());
+            boolean isEpoch = from != null && to != null;
+            data.writeByte(flags | TYPE_EVENT | (isEpoch ? FLAG_EPOCH_BOUNDS : 0));
+            writeString(data, task.getDescription());
+            if (isEpoch) {
+                data.writeInt((int) from.toEpochDay());
+                data.writeInt((int) to.toEpochDay());
+            } else {
+                writeString(data, event.getFrom());
+                writeString(data, event.getTo());
+            }
+        } else {
+            data.writeByte(flags | TYPE_TODO);
+            writeString(data, task.getDescription());
+        }
+    }
+
+    private static void writeString(DataOutputStream data, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Returns the date if <code>s</code> is exactly its ISO form, so that it round-trips unchanged.
+     */
+    private static LocalDate toIsoDate(String s) {
+        try {
+            LocalDate date = LocalDate.parse(s);
+            return date.toString().equals(s) ? date : null;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a binary snapshot into <code>tasks</code>.
+     * A truncated or corrupted tail is reported and dropped; every task before it is kept.
+     * @param file snapshot file
+     * @param tasks list to add the tasks to, in file order
+     * @return journal sequence number stored in the header
+     * @throws IOException if the file cannot be read or is not a supported binary snapshot
+     */
+    public static long read(Path file, List<Task> tasks) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+        long journalSeq;
+        int count;
+        try {
+            checkHeader(buf, file);
+            journalSeq = buf.getLong();
+            buf.getLong(); // next task ID, see readNextId
+            count = buf.getInt();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated binary task file: " + file, e);
+        }
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < count; i++) {
+            try {
+                int start = buf.position();
+                Task task = readTask(buf);
+                crc.reset();
+                crc.update(buf.array(), buf.arrayOffset() + start, buf.position() - start);
+                if (buf.getInt() != (int) crc.getValue()) {
+                    throw new IllegalArgumentException("checksum mismatch");
+                }
+                tasks.add(task);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                System.err.println("Skipping corrupted binary records from #" + (i + 1) + " of " + count);
+                break;
+            }
+        }
+        return journalSeq;
+    }
+
+    /**
+     * Reads only the journal sequence number from a binary snapshot header.
+     * @param file snapshot file
+     * @return journal sequence number stored in the header
+     * @throws IOException if the file cannot be read or is not a supported binary snapshot
+     */
+    public static long readJournalSeq(Path file) throws IOException {
+        return readHeader(file).getLong(SEQ_OFFSET);
+    }
+
+    /**
+     * Reads only the next unused task ID from a binary snapshot header.
+     * @param file snapshot file
+     * @return next task ID stored in the header
+     * @throws IOException if the file cannot be read or is not a supported binary snapshot
+     */
+    public static long readNextId(Path file) throws IOException {
+        return readHeader(file).getLong(NEXT_ID_OFFSET);
+    }
+
+    private static ByteBuffer readHeader(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] head = in.readNBytes(HEADER_BYTES);
+            if (head.length < HEADER_BYTES) {
+                throw new IOException("Truncated binary task file: " + file);
+            }
+            ByteBuffer buf = ByteBuffer.wrap(head);
+            checkHeader(buf, file);
+            return buf;
+        }
+    }
+
+    /**
+     * Consumes the magic bytes and version, rejecting anything but the current version.
+     */
+    private static void checkHeader(ByteBuffer buf, Path file) throws IOException {
+        if (buf.getInt() != MAGIC) {
+            throw new IOException("Not a binary task file: " + file);
+        }
+        short version = buf.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary task file version " + version + ": " + file);
+        }
+    }
+
+    private static Task readTask(ByteBuffer buf) {
+        long id = buf.getLong();
+        return readTaskBody(buf).withId(id);
+    }
+
+    private static Task readTaskBody(ByteBuffer buf) {
+        int flags = buf.get();
+        boolean isDone = (flags & FLAG_DONE) != 0;
+        String description = readString(buf);
+        switch (flags & TYPE_MASK) {
+        case TYPE_TODO:
+            return new Todo(description, isDone);
+        case TYPE_DEADLINE:
+            return new Deadline(description, LocalDate.ofEpochDay(buf.getInt()), isDone);
+        case TYPE_EVENT:
+            if ((flags & FLAG_EPOCH_BOUNDS) != 0) {
+                LocalDate from = LocalDate.ofEpochDay(buf.getInt());
+                LocalDate to = LocalDate.ofEpochDay(buf.getInt());
+                if (to.isBefore(from)) {
+                    return new Event(description, from.toString(), to.toString(), isDone);
+                }
+                return new Event(description, from, to, isDone);
+            }
+            return new Event(description, readString(buf), readString(buf), isDone);
+        default:
+            throw new IllegalArgumentException("Unknown task type flags: " + flags);
+        }
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0 || length > buf.remaining()) {
+            throw new IllegalArgumentException("Bad string length: " + length);
+        }
+        String s = new String(buf.array(), buf.arrayOffset() + buf.position(), length, StandardCharsets.UTF_8);
+        buf.position(buf.position() + length);
+        return s;
+    }
+}
@@ -0,0 +1,194 @@
+package cat.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes journal records on a single background thread, merging everything that
+ * arrives within a short window (or up to a batch size) into one write.
+ * A <code>GroupCommitWriter</code> hands each caller a future that completes once
+ * its record is durable, so bursts of commands pay for one write and one fsync per batch
+ * instead of one per command.
+ * <p>
+ * Journal records are positional, so a record written after a lost one would be replayed
+ * against the wrong tasks. The first failed write is therefore sticky: every later
+ * {@link #submit(String)} and {@link #flush()} fails with it until {@link #clearFailure()}
+ * is called, typically once a snapshot has made the lost records unnecessary.
+ * </p>
+ */
+public class GroupCommitWriter {
+    /**
+     * Destination of a batch of records, e.g. {@link Journal#appendAll(List)}.
+     */
+    @FunctionalInterface
+    public interface BatchSink {
+        /**
+         * Durably writes the records, in order.
+         * @param records records to write
+         * @throws IOException if the records cannot be written
+         */
+        void write(List<String> records) throws IOException;
+    }
+
+    private static final class Pending {
+        private final String record;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Pending(String record) {
+            this.record = record;
+        }
+    }
+
+    private final BatchSink sink;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile CompletableFuture<Void> lastSubmitted = CompletableFuture.completedFuture(null);
+    private volatile IOException failure;
+
+    /**
+     * Creates a writer and starts its background thread.
+     * @param sink where batches are written
+     * @param maxBatchSize most records merged into one write
+     * @param windowMillis how long to wait for more records after the first one arrives
+     */
+    public GroupCommitWriter(BatchSink sink, int maxBatchSize, long windowMillis) {
+        this.sink = sink;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.thread = new Thread(this::run, "cat-journal-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a record for the next batch.
+     * Records are written in the order they are submitted.
+     * @param record record text without a trailing newline
+     * @return future completed once the record is durable, or completed exceptionally if the write fails
+     * @throws IOException if an earlier write failed and has not been cleared; the record is not queued
+     */
+    public synchronized CompletableFuture<Void> submit(String record) throws IOException {
+        IOException failed = failure;
+        if (failed != null) {
+            throw failed;
+        }
+        Pending pending = new Pending(record);
+        lastSubmitted = pending.done;
+        queue.add(pending);
+        return pending.done;
+    }
+
+    /**
+     * Blocks until every record submitted before this call has been written.
+     * @throws IOException if any record since the last {@link #clearFailure()} could not be written
+     */
+    public void flush() throws IOException {
+        drain();
+        IOException failed = failure;
+        if (failed != null) {
+            throw failed;
+        }
+    }
+
+    /**
+     * Blocks until every record submitted before this call has been written or rejected,
+     * without reporting a write failure.
+     * @throws IOException if interrupted while waiting
+     */
+    public void drain() throws IOException {
+        try {
+            lastSubmitted.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing the journal", e);
+        } catch (ExecutionException e) {
+            // Recorded in failure by writeBatch before the future completed.
+        }
+    }
+
+    /**
+     * Returns whether a write has failed since the last {@link #clearFailure()}.
+     * @return true if submissions are being rejected
+     */
+    public boolean hasFailed() {
+        return failure != null;
+    }
+
+    /**
+     * Accepts submissions again after a write failure.
+     * Callers must first make the lost records unnecessary, e.g. by writing a full snapshot.
+     */
+    public void clearFailure() {
+        failure = null;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                return;
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Waits for the first record, then keeps collecting until the batch is full or the window closes.
+     */
+    private void collectBatch(List<Pending> batch) throws InterruptedException {
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Writes the batch, or rejects it unwritten if an earlier batch failed,
+     * so that no record ever lands after a lost one.
+     */
+    private void writeBatch(List<Pending> batch) {
+        List<String> records = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            records.add(pending.record);
+        }
+        IOException failed = failure;
+        if (failed == null) {
+            try {
+                sink.write(records);
+                for (Pending pending : batch) {
+                    pending.done.complete(null);
+                }
+                return;
+            } catch (IOException e) {
+                failed = e;
+            } catch (RuntimeException e) {
+                failed = new IOException(e);
+            }
+            failure = failed;
+        }
+        for (Pending pending : batch) {
+            pending.done.completeExceptionally(failed);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package cat.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Represents an append-only log of task mutations kept next to a snapshot file.
+ * A <code>Journal</code> stores one record per line, e.g. <code>mark | 3</code>,
+ * so that each mutation costs one small append instead of a full file rewrite.
+ * <p>
+ * When the log grows too large it is rotated, i.e. renamed to
+ * <code>cat.txt.log.&lt;seq&gt;</code>, and a fresh log is started.
+ * Rotated logs are kept until their records have been folded into a snapshot.
+ * </p>
+ * <p>
+ * Every record is prefixed with its CRC-32 in hex, e.g. <code>3f1c0a2e mark | 3</code>.
+ * Reading stops at the first record whose checksum does not match: if it is the last
+ * line it is a torn write from a crash, otherwise the data is damaged, and in both cases
+ * the records before it are the last consistent state. Lines without a checksum,
+ * written by older versions, are passed through unchecked, but only until the first
+ * checksummed record; after that a line whose prefix is not a checksum counts as damaged.
+ * </p>
+ */
+public class Journal {
+    private static final int CRC_HEX_LENGTH = 8;
+
+    private final Path path;
+    private int recordCount;
+    private long byteCount;
+
+    /**
+     * Creates a journal backed by the given file.
+     * The file is only created once the first record is appended.
+     * @param path path to the log file, e.g. <code>./data/cat.txt.log</code>
+     */
+    public Journal(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Appends one record to the end of the log.
+     * @param record record text without a trailing newline
+     * @throws IOException if the log cannot be written
+     */
+    public void append(String record) throws IOException {
+        appendAll(List.of(record));
+    }
+
+    /**
+     * Appends records to the end of the log in a single write and forces them to disk,
+     * so a batch costs one fsync no matter how many records it holds.
+     * @param records records in order, each without a trailing newline
+     * @throws IOException if the log cannot be written
+     */
+    public void appendAll(List<String> records) throws IOException {
+        Path dir = path.getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String record : records) {
+            sb.append(seal(record)).append(System.lineSeparator());
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(sb));
+        int length = bytes.remaining();
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+        recordCount += records.size();
+        byteCount += length;
+    }
+
+    /**
+     * Returns every intact record in the live log, oldest first, and resets the
+     * size counters to match what is on disk.
+     * If a record fails its checksum, the log is truncated just before it so that
+     * later appends do not follow a torn or damaged record.
+     * A missing log is treated as empty.
+     * @return records in append order
+     * @throws IOException if the log exists but cannot be read or truncated
+     */
+    public List<String> readAll() throws IOException {
+        List<String> records = new ArrayList<>();
+        long validBytes = readChecked(path, records);
+        if (Files.exists(path) && validBytes < Files.size(path)) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+                channel.force(false);
+            }
+        }
+        recordCount = records.size();
+        byteCount = validBytes;
+        return records;
+    }
+
+    /**
+     * Returns every intact record in the given log file, oldest first.
+     * A missing file is treated as empty.
+     * @param file live or rotated log file
+     * @return records in append order, up to the first one that fails its checksum
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static List<String> readRecords(Path file) throws IOException {
+        List<String> records = new ArrayList<>();
+        readChecked(file, records);
+        return records;
+    }
+
+    /**
+     * Reads records from <code>file</code> in a single pass, verifying each checksum.
+     * @param file log file
+     * @param records list to add the intact records to
+     * @return number of bytes up to the end of the last intact record
+     * @throws IOException if the file exists but cannot be read
+     */
+    private static long readChecked(Path file, List<String> records) throws IOException {
+        if (Files.notExists(file)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int lineStart = 0;
+        int lineNumber = 0;
+        boolean isChecked = false;
+        while (lineStart < bytes.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            int contentEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            lineNumber++;
+
+            String record = null;
+            if (isSealed(bytes, lineStart, contentEnd)) {
+                record = unseal(bytes, lineStart, contentEnd);
+                isChecked = true;
+            } else if (!isChecked) {
+                record = new String(bytes, lineStart, contentEnd - lineStart, StandardCharsets.UTF_8);
+            }
+            boolean isTerminated = lineEnd < bytes.length;
+            if (record == null || !isTerminated) {
+                if (next >= bytes.length) {
+                    System.err.println("Dropping torn journal record at line " + lineNumber + " of " + file);
+                } else {
+                    System.err.println("Journal " + file + " is damaged at line " + lineNumber
+                            + "; ignoring it and every later record");
+                }
+                return lineStart;
+            }
+            if (!record.isBlank()) {
+                records.add(record);
+            }
+            lineStart = next;
+        }
+        return bytes.length;
+    }
+
+    /**
+     * Prefixes a record with its checksum.
+     */
+    private static String seal(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        String hex = Long.toHexString(crc.getValue());
+        return "0".repeat(CRC_HEX_LENGTH - hex.length()) + hex + " " + record;
+    }
+
+    /**
+     * Returns whether a line starts with a checksum prefix, i.e. eight hex digits and a space.
+     * Lines without one were written before records were checksummed.
+     */
+    private static boolean isSealed(byte[] bytes, int start, int end) {
+        if (end - start <= CRC_HEX_LENGTH || bytes[start + CRC_HEX_LENGTH] != ' ') {
+            return false;
+        }
+        for (int i = start; i < start + CRC_HEX_LENGTH; i++) {
+            if (Character.digit(bytes[i], 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Strips and verifies the checksum of a line that {@link #isSealed(byte[], int, int)}.
+     * @return the record, or null if its checksum does not match
+     */
+    private static String unseal(byte[] bytes, int start, int end) {
+        long expected = 0;
+        for (int i = start; i < start + CRC_HEX_LENGTH; i++) {
+            expected = (expected << 4) | Character.digit(bytes[i], 16);
+        }
+        int recordStart = start + CRC_HEX_LENGTH + 1;
+        CRC32 crc = new CRC32();
+        crc.update(bytes, recordStart, end - recordStart);
+        if (crc.getValue() != expected) {
+            return null;
+        }
+        return new String(bytes, recordStart, end - recordStart, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Renames the live log to <code>&lt;log&gt;.&lt;seq&gt;</code> so that appends start on an empty log.
+     * Does nothing if no record has been written since the last rotation.
+     * @param seq sequence number of the rotated log; must be greater than any earlier one
+     * @return true if a log was rotated
+     * @throws IOException if the log cannot be renamed
+     */
+    public boolean rotate(long seq) throws IOException {
+        recordCount = 0;
+        byteCount = 0;
+        if (Files.notExists(path)) {
+            return false;
+        }
+        Files.move(path, rotatedPath(seq), StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    /**
+     * Returns the rotated logs that still exist on disk, keyed and ordered by sequence number.
+     * @return rotated log files, oldest first
+     * @throws IOException if the directory cannot be listed
+     */
+    public SortedMap<Long, Path> listRotated() throws IOException {
+        SortedMap<Long, Path> rotated = new TreeMap<>();
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir == null || Files.notExists(dir)) {
+            return rotated;
+        }
+        String prefix = path.getFileName() + ".";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix + "*")) {
+            for (Path file : files) {
+                String suffix = file.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                    rotated.put(Long.parseLong(suffix), file);
+                }
+            }
+        }
+        return rotated;
+    }
+
+    /**
+     * Deletes every rotated log whose sequence number is at most <code>seq</code>.
+     * @param seq highest sequence number already folded into a snapshot
+     * @throws IOException if a log cannot be deleted
+     */
+    public void deleteRotatedUpTo(long seq) throws IOException {
+        for (Path file : listRotated().headMap(seq + 1).values()) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Returns the number of records in the live log.
+     * @return record count since the last rotation
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the size of the live log in bytes.
+     * @return byte count since the last rotation
+     */
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * Returns the path of the log file.
+     * @return log file path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    private Path rotatedPath(long seq) {
+        return path.resolveSibling(path.getFileName() + "." + seq);
+    }
+}
@@ -0,0 +1,187 @@
+package cat.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import cat.task.Task;
+
+/**
+ * Loads large text snapshots by splitting them into line-aligned chunks that are
+ * parsed in parallel on the common fork-join pool.
+ * Chunks are memory-mapped (read into heap buffers on Windows, where a mapped file
+ * cannot be replaced by the next snapshot) and merged back in file order,
+ * so task numbering is the same as with a sequential read.
+ */
+public final class ParallelTextLoader {
+    /**
+     * Handles one line of a snapshot, e.g. {@code cat.Storage}'s line parser.
+     */
+    @FunctionalInterface
+    public interface LineReader {
+        /**
+         * Parses one raw line, adding any task it holds to <code>tasks</code>.
+         * Corrupted lines must be reported and skipped, not thrown.
+         * @param line raw line without its line terminator
+         * @param tasks chunk-local list to add the parsed task to
+         * @return journal sequence number if the line is a snapshot header, otherwise -1
+         */
+        long read(String line, List<Task> tasks);
+    }
+
+    private static final class Chunk {
+        private final List<Task> tasks = new ArrayList<>();
+        private long seq = -1;
+    }
+
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MIN_CHUNK_BYTES = 256 * 1024;
+    /** Largest chunk aimed for, so a chunk always fits one buffer and its decoded text stays modest. */
+    private static final long MAX_CHUNK_BYTES = 256L * 1024 * 1024;
+    private static final int BOUNDARY_SCAN_BYTES = 8 * 1024;
+    private static final boolean CAN_MAP = !System.getProperty("os.name", "").startsWith("Windows");
+
+    private ParallelTextLoader() {
+        /* Utility class; do not instantiate. */
+    }
+
+    /**
+     * Reads every line of the file through <code>reader</code> in parallel.
+     * @param file text snapshot
+     * @param reader line parser; called concurrently from several threads
+     * @param tasks list to add the parsed tasks to, in file order
+     * @return largest header sequence number reported by <code>reader</code>, or 0 if none
+     * @throws IOException if the file cannot be read
+     */
+    public static long load(Path file, LineReader reader, List<Task> tasks) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            List<Chunk> chunks;
+            try {
+                chunks = IntStream.range(0, bounds.length - 1)
+                        .parallel()
+                        .mapToObj(i -> readChunk(channel, bounds[i], bounds[i + 1], reader))
+                        .toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            long seq = 0;
+            int total = chunks.stream().mapToInt(c -> c.tasks.size()).sum();
+            if (tasks instanceof ArrayList) {
+                ((ArrayList<Task>) tasks).ensureCapacity(tasks.size() + total);
+            }
+            for (Chunk chunk : chunks) {
+                tasks.addAll(chunk.tasks);
+                seq = Math.max(seq, chunk.seq);
+            }
+            return seq;
+        }
+    }
+
+    /**
+     * Splits the file into roughly equal chunks of at most 256 MB whose boundaries
+     * fall just after a newline.
+     * @return offsets of chunk starts, followed by the file size
+     */
+    private static long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long chunkCount = Math.max(1, Math.min((long) parallelism * CHUNKS_PER_THREAD, size / MIN_CHUNK_BYTES));
+        chunkCount = Math.max(chunkCount, (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+        long target = size / chunkCount;
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long start = 0;
+        for (long i = 1; i < chunkCount; i++) {
+            long next = nextLineStart(channel, Math.max(start, i * target));
+            if (next >= size) {
+                break;
+            }
+            if (next > start) {
+                bounds.add(next);
+                start = next;
+            }
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Returns the offset just after the first newline at or after <code>from</code>,
+     * or the file size if there is none.
+     */
+    private static long nextLineStart(FileChannel channel, long from) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(BOUNDARY_SCAN_BYTES);
+        long pos = from;
+        while (true) {
+            buf.clear();
+            int n = channel.read(buf, pos);
+            if (n <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < n; i++) {
+                if (buf.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += n;
+        }
+    }
+
+    private static Chunk readChunk(FileChannel channel, long start, long end, LineReader reader) {
+        Chunk chunk = new Chunk();
+        try {
+            CharBuffer chars = StandardCharsets.UTF_8.decode(region(channel, start, end));
+            int lineStart = 0;
+            int limit = chars.limit();
+            for (int i = 0; i <= limit; i++) {
+                if (i == limit || chars.get(i) == '\n') {
+                    if (i > lineStart) {
+                        String line = chars.subSequence(lineStart, i).toString();
+                        chunk.seq = Math.max(chunk.seq, reader.read(line, chunk.tasks));
+                    }
+                    lineStart = i + 1;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunk;
+    }
+
+    /**
+     * Reads or maps the bytes of one chunk. A chunk only outgrows one buffer if a single line
+     * is longer than 2 GB, which no valid snapshot has.
+     */
+    private static ByteBuffer region(FileChannel channel, long start, long end) throws IOException {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("Line too long in task file at byte " + start);
+        }
+        int length = (int) (end - start);
+        if (CAN_MAP) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        }
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        long pos = start;
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, pos);
+            if (n < 0) {
+                break;
+            }
+            pos += n;
+        }
+        buf.flip();
+        return buf;
+    }
+}
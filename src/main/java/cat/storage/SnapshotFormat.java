@@ -0,0 +1,13 @@
+package cat.storage;
+
+/**
+ * On-disk layout used when a snapshot is written.
+ * Either layout is read back regardless of this setting, so switching formats
+ * migrates an existing file on its next snapshot.
+ */
+public enum SnapshotFormat {
+    /** One task per line in {@link cat.task.Task#toSaveFormat()} layout, e.g. <code>T | X | read book</code>. */
+    TEXT,
+    /** Compact layout written by {@link BinaryFormat}. */
+    BINARY
+}
@@ -0,0 +1,586 @@
+package cat.task;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import cat.exception.InvalidTaskIndexException;
+
+/**
+ * Task list that keeps its tasks in columns of primitives instead of one object per task.
+ * <p>
+ * Each task is a row spread over parallel arrays: a flag byte holding its type and done status,
+ * its ID, its dates as epoch days, and the bounds of its text in one shared UTF-8 byte arena.
+ * That saves the object headers, strings and pointers every task otherwise costs, and the search
+ * and date indexes of {@link TaskList} too: {@link #search(String)}, the date queries and
+ * {@link #formatList()} scan the columns directly, writing matching rows straight into the reply.
+ * {@link Task} objects are only built on demand, by {@link #get(int)}, {@link #getById(long)}
+ * and {@link #getTasks()}, e.g. when the list is saved.
+ * </p>
+ * <p>
+ * Deleting shifts the columns of later rows down in one pass per command; the text of deleted
+ * rows is reclaimed once it outweighs the live text. This list keeps no undo history, so
+ * {@link #undo()} and {@link #redo()} only say that they are not available.
+ * </p>
+ */
+public class ColumnarTaskList implements TaskStore {
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    /** Event whose bounds are dates, kept in the day columns. */
+    private static final byte DATED_EVENT = 2;
+    /** Event with free-text bounds, kept after its description in the arena. */
+    private static final byte TEXT_EVENT = 3;
+    private static final int TYPE_MASK = 3;
+    private static final int DONE = 4;
+    private static final String[] TYPE_TAGS = {"[T] ", "[D] ", "[E] ", "[E] "};
+    /** Separates the description and bounds of a free-text event; input lines never contain it. */
+    private static final byte SEPARATOR = '\n';
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_DEAD_BYTES_TO_COMPACT = 4096;
+    private static final String NO_HISTORY_MESSAGE = "oops undo and redo are not available with the columnar backend.";
+
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    /** Due date of a deadline, or first day of a dated event. */
+    private int[] startDays = new int[INITIAL_CAPACITY];
+    /** Last day of a dated event. */
+    private int[] endDays = new int[INITIAL_CAPACITY];
+    private int[] textStarts = new int[INITIAL_CAPACITY];
+    private int[] textEnds = new int[INITIAL_CAPACITY];
+    private byte[] arena = new byte[INITIAL_CAPACITY * 32];
+    private int arenaLength;
+    private int deadBytes;
+    private int size;
+    private long nextId;
+    private long modCount;
+
+    /**
+     * Creates a columnar task list with the given tasks. Tasks without an ID, or with one already
+     * taken, get a new one.
+     * @param ls list of tasks; only read, so it can be dropped afterwards
+     */
+    public ColumnarTaskList(ArrayList<Task> ls) {
+        this(ls, 1);
+    }
+
+    /**
+     * Creates a columnar task list with the given tasks, handing out IDs from <code>nextId</code> on,
+     * or from past the largest ID in <code>ls</code> if that is higher.
+     * @param ls list of tasks, e.g. as loaded by storage; only read, so it can be dropped afterwards
+     * @param nextId first ID that may be given to a task, so that IDs of deleted tasks are never reused
+     */
+    public ColumnarTaskList(ArrayList<Task> ls, long nextId) {
+        this.nextId = Math.max(nextId, 1);
+        long lastId = 0;
+        boolean isIncreasing = true;
+        for (Task task : ls) {
+            this.nextId = Math.max(this.nextId, task.getId() + 1);
+            isIncreasing &= task.getId() > lastId;
+            lastId = task.getId();
+        }
+        // Saved lists have increasing IDs, so duplicates only need tracking for other input.
+        Set<Long> seen = isIncreasing ? null : new HashSet<>();
+        ensureCapacity(ls.size());
+        for (Task task : ls) {
+            boolean needsId = task.getId() <= 0 || (seen != null && !seen.add(task.getId()));
+            append(task, needsId ? this.nextId++ : task.getId());
+        }
+    }
+
+    private void append(Task task, long id) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        ids[row] = id;
+        String text = task.getDescription();
+        byte type = TODO;
+        if (task instanceof Deadline) {
+            type = DEADLINE;
+            startDays[row] = Math.toIntExact(((Deadline) task).getBy().toEpochDay());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            if (event.getFromDate() != null) {
+                type = DATED_EVENT;
+                startDays[row] = Math.toIntExact(event.getFromDate().toEpochDay());
+                endDays[row] = Math.toIntExact(event.getToDate().toEpochDay());
+            } else {
+                type = TEXT_EVENT;
+                text = text + (char) SEPARATOR + event.getFrom() + (char) SEPARATOR + event.getTo();
+            }
+        }
+        flags[row] = (byte) (type | (task.isDone() ? DONE : 0));
+        byte[] bytes = text.getBytes(UTF_8);
+        if (arenaLength + bytes.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arenaLength + bytes.length, arena.length * 2));
+        }
+        System.arraycopy(bytes, 0, arena, arenaLength, bytes.length);
+        textStarts[row] = arenaLength;
+        arenaLength += bytes.length;
+        textEnds[row] = arenaLength;
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows > flags.length) {
+            int capacity = Math.max(rows, flags.length * 2);
+            flags = Arrays.copyOf(flags, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            startDays = Arrays.copyOf(startDays, capacity);
+            endDays = Arrays.copyOf(endDays, capacity);
+            textStarts = Arrays.copyOf(textStarts, capacity);
+            textEnds = Arrays.copyOf(textEnds, capacity);
+        }
+    }
+
+    /**
+     * Builds a {@link Task} object holding the row, for callers that need one.
+     */
+    private Task view(int row) {
+        boolean isDone = (flags[row] & DONE) != 0;
+        String description = new String(arena, textStarts[row], descriptionEnd(row) - textStarts[row], UTF_8);
+        Task task;
+        switch (flags[row] & TYPE_MASK) {
+        case DEADLINE:
+            task = new Deadline(description, LocalDate.ofEpochDay(startDays[row]), isDone);
+            break;
+        case DATED_EVENT:
+            task = new Event(description, LocalDate.ofEpochDay(startDays[row]),
+                    LocalDate.ofEpochDay(endDays[row]), isDone);
+            break;
+        case TEXT_EVENT:
+            int fromStart = descriptionEnd(row) + 1;
+            int fromEnd = nextSeparator(fromStart);
+            task = new Event(description, new String(arena, fromStart, fromEnd - fromStart, UTF_8),
+                    new String(arena, fromEnd + 1, textEnds[row] - fromEnd - 1, UTF_8), isDone);
+            break;
+        default:
+            task = new Todo(description, isDone);
+            break;
+        }
+        return task.withId(ids[row]);
+    }
+
+    private int descriptionEnd(int row) {
+        return (flags[row] & TYPE_MASK) == TEXT_EVENT ? nextSeparator(textStarts[row]) : textEnds[row];
+    }
+
+    private int nextSeparator(int from) {
+        int end = from;
+        while (arena[end] != SEPARATOR) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Writes the row the way {@link Task#toString()} shows it, without building the task.
+     */
+    private StringBuilder appendRow(StringBuilder out, int row) {
+        int type = flags[row] & TYPE_MASK;
+        out.append(TYPE_TAGS[type]).append((flags[row] & DONE) != 0 ? "[X] " : "[ ] ");
+        int descriptionEnd = descriptionEnd(row);
+        appendText(out, textStarts[row], descriptionEnd);
+        switch (type) {
+        case DEADLINE:
+            out.append(" (by: ").append(LocalDate.ofEpochDay(startDays[row]).format(Deadline.DISPLAY_FORMAT))
+                    .append(')');
+            break;
+        case DATED_EVENT:
+            out.append(" (from: ").append(LocalDate.ofEpochDay(startDays[row]))
+                    .append(" to: ").append(LocalDate.ofEpochDay(endDays[row])).append(')');
+            break;
+        case TEXT_EVENT:
+            int fromEnd = nextSeparator(descriptionEnd + 1);
+            out.append(" (from: ");
+            appendText(out, descriptionEnd + 1, fromEnd);
+            out.append(" to: ");
+            appendText(out, fromEnd + 1, textEnds[row]);
+            out.append(')');
+            break;
+        default:
+            break;
+        }
+        return out;
+    }
+
+    /**
+     * Copies arena text into the reply, byte by byte while it is ASCII, so no string is made per row.
+     */
+    private void appendText(StringBuilder out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (arena[i] < 0) {
+                out.append(new String(arena, i, to - i, UTF_8));
+                return;
+            }
+            out.append((char) arena[i]);
+        }
+    }
+
+    private String rowToString(int row) {
+        return appendRow(new StringBuilder(), row).toString();
+    }
+
+    @Override
+    public String formatList() {
+        return TaskList.formatList(size, 0, size, this::appendRow);
+    }
+
+    @Override
+    public String formatList(int from, int limit) {
+        return TaskList.formatList(size, from, limit, this::appendRow);
+    }
+
+    private void checkPosition(int taskNum) throws InvalidTaskIndexException {
+        if (taskNum < 0 || taskNum >= size) {
+            throw new InvalidTaskIndexException("oops! task # " + (taskNum + 1) + " does not exist.");
+        }
+    }
+
+    @Override
+    public String markDone(int taskNum) throws InvalidTaskIndexException {
+        checkPosition(taskNum);
+        flags[taskNum] |= DONE;
+        modCount++;
+        return appendRow(new StringBuilder("nice! i've marked this task as done: \n"), taskNum).toString();
+    }
+
+    @Override
+    public String unmarkDone(int taskNum) throws InvalidTaskIndexException {
+        checkPosition(taskNum);
+        flags[taskNum] &= ~DONE;
+        modCount++;
+        return appendRow(new StringBuilder("ok, i've marked this task as not done yet: \n"), taskNum).toString();
+    }
+
+    @Override
+    public String markDone(TaskNumbers taskNums) throws InvalidTaskIndexException {
+        if (taskNums.size() == 1) {
+            return markDone(taskNums.get(0));
+        }
+        taskNums.checkWithin(size);
+        StringBuilder output = new StringBuilder("nice! i've marked these " + taskNums.size() + " tasks as done:");
+        for (int i = 0; i < taskNums.size(); i++) {
+            flags[taskNums.get(i)] |= DONE;
+            appendRow(output.append('\n'), taskNums.get(i));
+        }
+        modCount++;
+        return output.toString();
+    }
+
+    @Override
+    public String unmarkDone(TaskNumbers taskNums) throws InvalidTaskIndexException {
+        if (taskNums.size() == 1) {
+            return unmarkDone(taskNums.get(0));
+        }
+        taskNums.checkWithin(size);
+        StringBuilder output = new StringBuilder("ok, i've marked these " + taskNums.size()
+                + " tasks as not done yet:");
+        for (int i = 0; i < taskNums.size(); i++) {
+            flags[taskNums.get(i)] &= ~DONE;
+            appendRow(output.append('\n'), taskNums.get(i));
+        }
+        modCount++;
+        return output.toString();
+    }
+
+    @Override
+    public String delete(int taskNum) throws InvalidTaskIndexException {
+        checkPosition(taskNum);
+        String removed = rowToString(taskNum);
+        removeRows(TaskNumbers.of(taskNum));
+        modCount++;
+        return ("okayy i've removed this task: \n"
+                + removed + "\n now you have " + size + " tasks in the list.\n");
+    }
+
+    @Override
+    public String delete(TaskNumbers taskNums) throws InvalidTaskIndexException {
+        if (taskNums.size() == 1) {
+            return delete(taskNums.get(0));
+        }
+        taskNums.checkWithin(size);
+        StringBuilder output = new StringBuilder("okayy i've removed these " + taskNums.size() + " tasks:");
+        for (int i = 0; i < taskNums.size(); i++) {
+            appendRow(output.append('\n'), taskNums.get(i));
+        }
+        removeRows(taskNums);
+        modCount++;
+        return output.append("\n now you have ").append(size).append(" tasks in the list.\n").toString();
+    }
+
+    /**
+     * Drops the rows at the given positions, moving each run of kept rows down with one array copy per column.
+     */
+    private void removeRows(TaskNumbers taskNums) {
+        int kept = taskNums.get(0);
+        for (int i = 0; i < taskNums.size(); i++) {
+            int row = taskNums.get(i);
+            deadBytes += textEnds[row] - textStarts[row];
+            int runEnd = i + 1 < taskNums.size() ? taskNums.get(i + 1) : size;
+            int count = runEnd - row - 1;
+            System.arraycopy(flags, row + 1, flags, kept, count);
+            System.arraycopy(ids, row + 1, ids, kept, count);
+            System.arraycopy(startDays, row + 1, startDays, kept, count);
+            System.arraycopy(endDays, row + 1, endDays, kept, count);
+            System.arraycopy(textStarts, row + 1, textStarts, kept, count);
+            System.arraycopy(textEnds, row + 1, textEnds, kept, count);
+            kept += count;
+        }
+        size = kept;
+        compactArenaIfSparse();
+    }
+
+    /**
+     * Rewrites the arena without the text of deleted rows once that outweighs the live text.
+     * Amortized over the deletes that made it, this costs O(1) per deleted byte.
+     */
+    private void compactArenaIfSparse() {
+        if (deadBytes <= arenaLength - deadBytes || deadBytes < MIN_DEAD_BYTES_TO_COMPACT) {
+            return;
+        }
+        byte[] compacted = new byte[Math.max((arenaLength - deadBytes) * 2, INITIAL_CAPACITY * 32)];
+        int length = 0;
+        for (int row = 0; row < size; row++) {
+            int rowLength = textEnds[row] - textStarts[row];
+            System.arraycopy(arena, textStarts[row], compacted, length, rowLength);
+            textStarts[row] = length;
+            length += rowLength;
+            textEnds[row] = length;
+        }
+        arena = compacted;
+        arenaLength = length;
+        deadBytes = 0;
+    }
+
+    @Override
+    public TaskNumbers findDone() {
+        return TaskNumbers.of(rowsWhere(row -> (flags[row] & DONE) != 0));
+    }
+
+    @Override
+    public String add(Task task) {
+        boolean needsId = task.getId() <= 0 || rowOf(task.getId()) >= 0;
+        append(task, needsId ? nextId++ : task.getId());
+        nextId = Math.max(nextId, ids[size - 1] + 1);
+        modCount++;
+        return "got it!! i've added this task: \n" + task
+                + "\nnow you have " + size + " tasks in the list.\n";
+    }
+
+    /**
+     * Does nothing: this list keeps no history.
+     * @param depth ignored
+     */
+    @Override
+    public void setHistoryDepth(int depth) {
+    }
+
+    /**
+     * Changes nothing and says so, since this list keeps no history to step back through.
+     */
+    @Override
+    public String undo() {
+        return NO_HISTORY_MESSAGE;
+    }
+
+    /**
+     * Changes nothing and says so, since this list keeps no history to step forward through.
+     */
+    @Override
+    public String redo() {
+        return NO_HISTORY_MESSAGE;
+    }
+
+    @Override
+    public String dueOnDate(LocalDate date) {
+        int day = Math.toIntExact(date.toEpochDay());
+        int[] rows = rowsWhere(row -> (flags[row] & TYPE_MASK) == DEADLINE && startDays[row] == day);
+        if (rows.length == 0) {
+            return "yay no tasks due on " + date;
+        }
+        return joinRows(new StringBuilder(), rows).toString();
+    }
+
+    @Override
+    public String dueBetween(LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        int[] rows = byStartDay(rowsWhere(row -> (flags[row] & TYPE_MASK) == DEADLINE
+                && startDays[row] >= first && startDays[row] <= last));
+        if (rows.length == 0) {
+            return "yay no tasks due between " + from + " and " + to;
+        }
+        return joinRows(new StringBuilder(), rows).toString();
+    }
+
+    @Override
+    public String overdue(LocalDate today) {
+        long day = today.toEpochDay();
+        int[] rows = byStartDay(rowsWhere(row -> (flags[row] & TYPE_MASK) == DEADLINE
+                && (flags[row] & DONE) == 0 && startDays[row] < day));
+        if (rows.length == 0) {
+            return "yay nothing is overdue";
+        }
+        return joinRows(new StringBuilder("these tasks are overdue:\n"), rows).toString();
+    }
+
+    @Override
+    public String eventsOn(LocalDate date) {
+        int[] rows = eventsOverlapping(date, date);
+        if (rows.length == 0) {
+            return "yay nothing on " + date;
+        }
+        return joinRows(new StringBuilder("here's what's on " + date + ":\n"), rows).toString();
+    }
+
+    @Override
+    public String eventsBetween(LocalDate from, LocalDate to) {
+        int[] rows = eventsOverlapping(from, to);
+        if (rows.length == 0) {
+            return "yay no events between " + from + " and " + to;
+        }
+        return joinRows(new StringBuilder("here are the events between " + from + " and " + to + ":\n"), rows)
+                .toString();
+    }
+
+    private int[] eventsOverlapping(LocalDate from, LocalDate to) {
+        long first = from.toEpochDay();
+        long last = to.toEpochDay();
+        return byStartDay(rowsWhere(row -> (flags[row] & TYPE_MASK) == DATED_EVENT
+                && startDays[row] <= last && endDays[row] >= first));
+    }
+
+    /**
+     * Searches the descriptions for the keyword by matching its UTF-8 bytes against the arena,
+     * which finds the same tasks as <code>String.contains</code>.
+     *
+     * @param keyword the word or phrase to search for, e.g. <code>"book"</code>
+     */
+    @Override
+    public String search(String keyword) {
+        byte[] key = keyword.getBytes(UTF_8);
+        StringBuilder output = new StringBuilder("here are the matching tasks in your list:");
+        int counter = 0;
+        for (int row = 0; row < size; row++) {
+            if (contains(textStarts[row], descriptionEnd(row), key)) {
+                appendRow(output.append('\n').append(++counter).append(". "), row);
+            }
+        }
+        return counter == 0 ? "uhoh no tasks found :(\n" : output.toString();
+    }
+
+    private boolean contains(int from, int to, byte[] key) {
+        for (int start = from; start <= to - key.length; start++) {
+            int i = 0;
+            while (i < key.length && arena[start + i] == key[i]) {
+                i++;
+            }
+            if (i == key.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] rowsWhere(IntPredicate matches) {
+        int[] rows = new int[INITIAL_CAPACITY];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (matches.test(row)) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, count * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Sorts rows by start day, keeping list order among rows with the same day.
+     */
+    private int[] byStartDay(int[] rows) {
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            keys[i] = ((long) startDays[rows[i]] << Integer.SIZE) | rows[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = (int) keys[i];
+        }
+        return rows;
+    }
+
+    private StringBuilder joinRows(StringBuilder out, int[] rows) {
+        for (int i = 0; i < rows.length; i++) {
+            if (i > 0) {
+                out.append('\n');
+            }
+            appendRow(out, rows[i]);
+        }
+        return out;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a task object holding the row at a position. Changing it does not change this list.
+     * @param taskNum index of task in list (0-based)
+     * @return a new task with the row's ID, description, dates and status
+     * @throws InvalidTaskIndexException if there is no task at that position
+     */
+    @Override
+    public Task get(int taskNum) throws InvalidTaskIndexException {
+        checkPosition(taskNum);
+        return view(taskNum);
+    }
+
+    /**
+     * Returns a task object holding the row with the given ID, found by scanning the ID column.
+     * @param id task ID
+     * @return a new task, or null if no task in the list has that ID
+     */
+    @Override
+    public Task getById(long id) {
+        int row = rowOf(id);
+        return row < 0 ? null : view(row);
+    }
+
+    private int rowOf(long id) {
+        for (int row = 0; row < size; row++) {
+            if (ids[row] == id) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long getNextId() {
+        return nextId;
+    }
+
+    @Override
+    public long getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Builds task objects for every row, e.g. for saving the list.
+     * @return a new list of new tasks, in list order
+     */
+    @Override
+    public ArrayList<Task> getTasks() {
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            tasks.add(view(row));
+        }
+        return tasks;
+    }
+}
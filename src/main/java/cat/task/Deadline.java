@@ -9,6 +9,9 @@ import java.time.format.DateTimeFormatter;
  * and a done/undone status.
  */
 public class Deadline extends Task {
+    /** How the due date is shown, e.g. <code>Sep 01 2025</code>. */
+    static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+
     protected LocalDate by;
 
     /**
@@ -22,10 +25,14 @@ public class Deadline extends Task {
         this.by = by;
     }
 
+    @Override
+    protected Task copyWithStatus(boolean isDone) {
+        return new Deadline(description, by, isDone);
+    }
+
     @Override
     public String toString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd yyyy");
-        return "[D] " + super.toString() + " (by: " + by.format(formatter) + ")";
+        return "[D] " + super.toString() + " (by: " + by.format(DISPLAY_FORMAT) + ")";
     }
 
     @Override
@@ -0,0 +1,89 @@
+package cat.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Index of deadlines sorted by due date.
+ * <p>
+ * Finding the deadlines due in a date range costs one tree descent plus the matches,
+ * instead of a type check and date comparison on every task in the list.
+ * Deadlines due on the same day are kept in insertion order, which is also list order.
+ * </p>
+ */
+class DeadlineIndex {
+    private final TreeMap<LocalDate, LinkedHashMap<Long, Deadline>> byDate = new TreeMap<>();
+
+    /**
+     * Indexes the task if it is a deadline.
+     * @param task task that has been assigned its sequence number
+     */
+    void add(Task task) {
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            byDate.computeIfAbsent(deadline.getBy(), d -> new LinkedHashMap<>()).put(task.getSeq(), deadline);
+        }
+    }
+
+    /**
+     * Points the index at a new version of an indexed task, e.g. after it was marked done.
+     * @param task replacement with the same sequence number and due date as the indexed task
+     */
+    void replace(Task task) {
+        if (task instanceof Deadline) {
+            byDate.get(((Deadline) task).getBy()).replace(task.getSeq(), (Deadline) task);
+        }
+    }
+
+    /**
+     * Removes the task if it is an indexed deadline.
+     * @param task previously indexed task
+     */
+    void remove(Task task) {
+        if (task instanceof Deadline) {
+            LocalDate by = ((Deadline) task).getBy();
+            LinkedHashMap<Long, Deadline> deadlines = byDate.get(by);
+            if (deadlines != null) {
+                deadlines.remove(task.getSeq());
+                if (deadlines.isEmpty()) {
+                    byDate.remove(by);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the deadlines due between the two dates, by due date and then list order.
+     * @param from first date, inclusive
+     * @param to last date, inclusive
+     * @return matching deadlines, empty if <code>to</code> is before <code>from</code>
+     */
+    List<Deadline> between(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return new ArrayList<>();
+        }
+        return collect(byDate.subMap(from, true, to, true));
+    }
+
+    /**
+     * Returns the deadlines due strictly before the given date, by due date and then list order.
+     * @param date first date that is not included
+     * @return matching deadlines
+     */
+    List<Deadline> before(LocalDate date) {
+        return collect(byDate.headMap(date, false));
+    }
+
+    private static List<Deadline> collect(NavigableMap<LocalDate, LinkedHashMap<Long, Deadline>> range) {
+        List<Deadline> found = new ArrayList<>();
+        for (Map<Long, Deadline> deadlines : range.values()) {
+            found.addAll(deadlines.values());
+        }
+        return found;
+    }
+}
@@ -1,13 +1,25 @@
 package cat.task;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
 /**
  * Represents an event task.
  * An <code>Event</code> has a description, a start time, an end time,
  * and a done/undone status.
+ * <p>
+ * When both bounds are ISO dates (<code>yyyy-mm-dd</code>) and in order, the event also
+ * keeps them as parsed dates, so date queries never reparse the strings.
+ * Events with free-text bounds such as <code>Mon 2pm</code> have no dates.
+ * </p>
  */
 public class Event extends Task {
+    private static final int ISO_DATE_LENGTH = 10;
+
     protected String from;
     protected String to;
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
 
     /**
      * Creates an event task.
@@ -20,6 +32,54 @@ public class Event extends Task {
         super(description, isDone);
         this.from = from;
         this.to = to;
+        LocalDate start = toDate(from);
+        LocalDate end = toDate(to);
+        boolean isDated = start != null && end != null && !end.isBefore(start);
+        this.fromDate = isDated ? start : null;
+        this.toDate = isDated ? end : null;
+    }
+
+    /**
+     * Creates an event task spanning the given dates, stored in ISO form.
+     * @param description task description
+     * @param from start date
+     * @param to end date, not before <code>from</code>
+     * @param isDone whether the task is completed
+     */
+    public Event(String description, LocalDate from, LocalDate to, boolean isDone) {
+        super(description, isDone);
+        assert !to.isBefore(from) : "event must not end before it starts";
+        this.from = from.toString();
+        this.to = to.toString();
+        this.fromDate = from;
+        this.toDate = to;
+    }
+
+    private Event(Event other, boolean isDone) {
+        super(other.description, isDone);
+        this.from = other.from;
+        this.to = other.to;
+        this.fromDate = other.fromDate;
+        this.toDate = other.toDate;
+    }
+
+    /**
+     * Parses <code>s</code> if it looks like an ISO date, without paying for an exception on free text.
+     */
+    private static LocalDate toDate(String s) {
+        if (s == null || s.length() != ISO_DATE_LENGTH || s.charAt(4) != '-' || s.charAt(7) != '-') {
+            return null;
+        }
+        try {
+            return LocalDate.parse(s);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    @Override
+    protected Task copyWithStatus(boolean isDone) {
+        return new Event(this, isDone);
     }
 
     @Override
@@ -29,7 +89,7 @@ public class Event extends Task {
 
     @Override
     public String toSaveFormat() {
-        return "D | " + getStatusIcon() + " | " + description + " | " + from + " to " + to;
+        return "E | " + getStatusIcon() + " | " + description + " | " + from + " | " + to;
     }
 
     @Override
@@ -62,4 +122,29 @@ public class Event extends Task {
     public String getTo() {
         return this.to;
     }
+
+    /**
+     * Returns the start date of the event.
+     * @return start date, or null if the event's bounds are not ISO dates
+     */
+    public LocalDate getFromDate() {
+        return this.fromDate;
+    }
+
+    /**
+     * Returns the end date of the event.
+     * @return end date, or null if the event's bounds are not ISO dates
+     */
+    public LocalDate getToDate() {
+        return this.toDate;
+    }
+
+    /**
+     * Checks if the event is taking place on the given date.
+     * @param date date to check
+     * @return true if the event has dates and <code>date</code> falls between them, inclusive
+     */
+    public boolean isOn(LocalDate date) {
+        return fromDate != null && !date.isBefore(fromDate) && !date.isAfter(toDate);
+    }
 }
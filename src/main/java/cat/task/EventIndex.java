@@ -0,0 +1,214 @@
+package cat.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Interval tree of dated events, for finding the events that overlap a date range.
+ * <p>
+ * The tree is a treap ordered by start day (then insertion order), where every node also
+ * records the latest end day in its subtree. A query skips any subtree whose latest end is
+ * before the range, and stops descending right once starts pass the range, so it only walks
+ * the paths leading to matches: O(log n + k) in the expected case.
+ * Random priorities keep the tree balanced whatever order events are added in.
+ * Events without dates are not indexed.
+ * </p>
+ */
+class EventIndex {
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final long seq;
+        private Event event;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(Event event, int priority) {
+            this.start = event.getFromDate().toEpochDay();
+            this.end = event.getToDate().toEpochDay();
+            this.seq = event.getSeq();
+            this.event = event;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        int compareTo(long otherStart, long otherSeq) {
+            int byStart = Long.compare(start, otherStart);
+            return byStart != 0 ? byStart : Long.compare(seq, otherSeq);
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+    }
+
+    private final Random random = new Random();
+    private Node root;
+    private int size;
+
+    /**
+     * Indexes the task if it is an event with dates.
+     * @param task task that has been assigned its sequence number
+     */
+    void add(Task task) {
+        if (task instanceof Event && ((Event) task).getFromDate() != null) {
+            root = insert(root, new Node((Event) task, random.nextInt()));
+            size++;
+        }
+    }
+
+    /**
+     * Removes the task if it is an indexed event.
+     * @param task previously indexed task
+     */
+    void remove(Task task) {
+        if (task instanceof Event && ((Event) task).getFromDate() != null) {
+            Event event = (Event) task;
+            int before = size;
+            root = delete(root, event.getFromDate().toEpochDay(), event.getSeq());
+            assert size == before - 1 : "removed event was not indexed";
+        }
+    }
+
+    /**
+     * Points the index at a new version of an indexed task, e.g. after it was marked done.
+     * @param task replacement with the same sequence number and dates as the indexed task
+     */
+    void replace(Task task) {
+        if (task instanceof Event && ((Event) task).getFromDate() != null) {
+            Event event = (Event) task;
+            long start = event.getFromDate().toEpochDay();
+            Node node = root;
+            while (node != null) {
+                int cmp = node.compareTo(start, event.getSeq());
+                if (cmp == 0) {
+                    node.event = event;
+                    return;
+                }
+                node = cmp > 0 ? node.left : node.right;
+            }
+            assert false : "replaced event was not indexed";
+        }
+    }
+
+    /**
+     * Returns the events that take place on at least one day between the two dates,
+     * ordered by start date and then list order.
+     * @param from first date, inclusive
+     * @param to last date, inclusive
+     * @return overlapping events, empty if <code>to</code> is before <code>from</code>
+     */
+    List<Event> overlapping(LocalDate from, LocalDate to) {
+        List<Event> found = new ArrayList<>();
+        if (!to.isBefore(from)) {
+            collect(root, from.toEpochDay(), to.toEpochDay(), found);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the number of indexed events.
+     * @return event count
+     */
+    int size() {
+        return size;
+    }
+
+    private static void collect(Node node, long lo, long hi, List<Event> found) {
+        if (node == null || node.maxEnd < lo) {
+            return;
+        }
+        collect(node.left, lo, hi, found);
+        if (node.start > hi) {
+            return;
+        }
+        if (node.end >= lo) {
+            found.add(node.event);
+        }
+        collect(node.right, lo, hi, found);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (node.compareTo(added.start, added.seq) > 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, long start, long seq) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = node.compareTo(start, seq);
+        if (cmp > 0) {
+            node.left = delete(node.left, start, seq);
+        } else if (cmp < 0) {
+            node.right = delete(node.right, start, seq);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every key in <code>a</code> is smaller than every key in <code>b</code>.
+     */
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            a.update();
+            return a;
+        }
+        b.left = merge(a, b.left);
+        b.update();
+        return b;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+}
@@ -0,0 +1,95 @@
+package cat.task;
+
+import java.util.Arrays;
+
+/**
+ * Fenwick (binary indexed) tree over a growable array of 0/1 slot weights, answering
+ * "which slot holds the k-th live element" in O(log n).
+ * <p>
+ * {@link TaskList} keeps one weight per slot of its task array: 1 for a live task,
+ * 0 for a tombstone. A user-visible task number is then a rank among the live slots,
+ * so deleting a task only zeroes its weight instead of shifting every later task.
+ * </p>
+ */
+class FenwickTree {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** 1-based; <code>tree[i]</code> sums the weights of slots <code>(i - lowbit(i), i]</code>. */
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private int length;
+
+    /**
+     * Replaces the contents with <code>n</code> slots of weight 1.
+     * @param n number of slots
+     */
+    void fill(int n) {
+        tree = new int[Math.max(n, INITIAL_CAPACITY) + 1];
+        for (int i = 1; i <= n; i++) {
+            tree[i] = Integer.lowestOneBit(i);
+        }
+        length = n;
+    }
+
+    /**
+     * Adds a slot after the last one.
+     * @param weight weight of the new slot
+     */
+    void append(int weight) {
+        if (length + 1 == tree.length) {
+            tree = Arrays.copyOf(tree, tree.length * 2);
+        }
+        int i = ++length;
+        // The new node covers (i - lowbit(i), i]: its own weight plus the slots just before it.
+        tree[i] = weight + prefix(i - 1) - prefix(i - Integer.lowestOneBit(i));
+    }
+
+    /**
+     * Adds <code>delta</code> to the weight of a slot.
+     * @param slot 0-based slot
+     * @param delta change in weight
+     */
+    void add(int slot, int delta) {
+        for (int i = slot + 1; i <= length; i += Integer.lowestOneBit(i)) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the total weight of the slots before <code>end</code>.
+     * @param end 0-based exclusive slot bound
+     * @return sum of weights of slots <code>[0, end)</code>
+     */
+    int prefix(int end) {
+        int sum = 0;
+        for (int i = end; i > 0; i -= Integer.lowestOneBit(i)) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the slot holding the live element of the given rank.
+     * @param rank 0-based rank among slots of weight 1; must be less than the total weight
+     * @return 0-based slot
+     */
+    int select(int rank) {
+        int pos = 0;
+        int remaining = rank + 1;
+        for (int step = Integer.highestOneBit(Math.max(length, 1)); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= length && tree[next] < remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Returns the number of slots.
+     * @return slot count, live or not
+     */
+    int length() {
+        return length;
+    }
+}
@@ -0,0 +1,210 @@
+package cat.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable sequence of tasks where every change returns a new sequence that shares all
+ * untouched structure with the old one.
+ * <p>
+ * The sequence is a treap keyed by position: each node records the size of its subtree, so
+ * the node at a position is found by descending on sizes, and random priorities keep the tree
+ * balanced. A change copies only the nodes on the path to the changed position, so it costs
+ * O(log n) time and memory in the expected case and every earlier version stays valid.
+ * {@link TaskList} keeps one version per command for <code>undo</code> and <code>redo</code>.
+ * Tasks themselves are shared between versions and are never changed in place; see
+ * {@link Task#withDone(boolean)}.
+ * </p>
+ */
+final class PersistentTaskSequence {
+    /** Sequence holding no tasks. */
+    static final PersistentTaskSequence EMPTY = new PersistentTaskSequence(null);
+
+    private static final class Node {
+        private final Task task;
+        private final int priority;
+        private final Node left;
+        private final Node right;
+        private final int size;
+
+        Node(Task task, int priority, Node left, Node right) {
+            this.task = task;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + sizeOf(left) + sizeOf(right);
+        }
+
+        Node withLeft(Node newLeft) {
+            return new Node(task, priority, newLeft, right);
+        }
+
+        Node withRight(Node newRight) {
+            return new Node(task, priority, left, newRight);
+        }
+    }
+
+    private final Node root;
+
+    private PersistentTaskSequence(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Builds a balanced sequence of the given tasks in O(n log n).
+     * @param tasks tasks in list order
+     * @return sequence holding the tasks
+     */
+    static PersistentTaskSequence of(List<Task> tasks) {
+        int n = tasks.size();
+        int[] priorities = ThreadLocalRandom.current().ints(n).sorted().toArray();
+        int[] byPosition = new int[n];
+        // Hand out priorities from the highest down, level by level, so every parent outranks its children.
+        // Each of the n nodes queues two subranges, so 2n + 1 ranges pass through the queue in total.
+        int[] queue = new int[2 * (2 * n + 1)];
+        int head = 0;
+        int tail = 0;
+        int next = n - 1;
+        queue[tail++] = 0;
+        queue[tail++] = n;
+        while (head < tail) {
+            int lo = queue[head++];
+            int hi = queue[head++];
+            if (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                byPosition[mid] = priorities[next--];
+                queue[tail++] = lo;
+                queue[tail++] = mid;
+                queue[tail++] = mid + 1;
+                queue[tail++] = hi;
+            }
+        }
+        return new PersistentTaskSequence(build(tasks, byPosition, 0, n));
+    }
+
+    private static Node build(List<Task> tasks, int[] priorities, int lo, int hi) {
+        if (lo >= hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        return new Node(tasks.get(mid), priorities[mid],
+                build(tasks, priorities, lo, mid), build(tasks, priorities, mid + 1, hi));
+    }
+
+    /**
+     * Returns the number of tasks.
+     * @return task count
+     */
+    int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns the task at a position.
+     * @param index 0-based position, less than {@link #size()}
+     * @return the task
+     */
+    Task get(int index) {
+        Node node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.task;
+            }
+        }
+    }
+
+    /**
+     * Returns a sequence with the task at a position replaced.
+     * @param index 0-based position, less than {@link #size()}
+     * @param task replacement task
+     * @return the new sequence; this one is unchanged
+     */
+    PersistentTaskSequence set(int index, Task task) {
+        return new PersistentTaskSequence(set(root, index, task));
+    }
+
+    private static Node set(Node node, int index, Task task) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return node.withLeft(set(node.left, index, task));
+        } else if (index > leftSize) {
+            return node.withRight(set(node.right, index - leftSize - 1, task));
+        }
+        return new Node(task, node.priority, node.left, node.right);
+    }
+
+    /**
+     * Returns a sequence with a task added after the last one.
+     * @param task task to add
+     * @return the new sequence; this one is unchanged
+     */
+    PersistentTaskSequence append(Task task) {
+        Node added = new Node(task, ThreadLocalRandom.current().nextInt(), null, null);
+        return new PersistentTaskSequence(merge(root, added));
+    }
+
+    /**
+     * Returns a sequence without the task at a position.
+     * @param index 0-based position, less than {@link #size()}
+     * @return the new sequence; this one is unchanged
+     */
+    PersistentTaskSequence remove(int index) {
+        return new PersistentTaskSequence(remove(root, index));
+    }
+
+    private static Node remove(Node node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return node.withLeft(remove(node.left, index));
+        } else if (index > leftSize) {
+            return node.withRight(remove(node.right, index - leftSize - 1));
+        }
+        return merge(node.left, node.right);
+    }
+
+    /**
+     * Returns the tasks in order, in O(n).
+     * @return a new list of the tasks
+     */
+    ArrayList<Task> toList() {
+        ArrayList<Task> tasks = new ArrayList<>(size());
+        collect(root, tasks);
+        return tasks;
+    }
+
+    private static void collect(Node node, List<Task> tasks) {
+        if (node != null) {
+            collect(node.left, tasks);
+            tasks.add(node.task);
+            collect(node.right, tasks);
+        }
+    }
+
+    /**
+     * Joins two treaps where every position in <code>a</code> comes before every position in
+     * <code>b</code>, copying only the nodes along the seam.
+     */
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            return a.withRight(merge(a.right, b));
+        }
+        return b.withLeft(merge(a, b.left));
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
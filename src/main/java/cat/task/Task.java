@@ -8,7 +8,9 @@ package cat.task;
  */
 public abstract class Task {
     protected String description;
-    protected boolean isDone;
+    protected final boolean isDone;
+    private long seq;
+    private long id;
 
     /**
      * Creates a task with the given description and status.
@@ -30,21 +32,65 @@ public abstract class Task {
     }
 
     /**
-     * Marks the task as done and returns a confirmation.
+     * Returns whether this task is completed.
+     * @return true if done
      */
-    public String markDone() {
-        this.isDone = true;
-        return ("nice! i've marked this task as done: \n" + this);
+    public boolean isDone() {
+        return this.isDone;
     }
 
     /**
-     * Marks the task as not done and prints a confirmation.
+     * Returns this task with the given status, leaving this object unchanged.
+     * The copy keeps the ID and insertion sequence number, so it stands for the same task;
+     * {@link TaskList} marks tasks this way, which lets earlier versions of the list kept for
+     * <code>undo</code> share the old object.
+     * @param isDone whether the returned task is completed
+     * @return this task if it already has that status, otherwise a copy with it
      */
-    public String unmarkDone() {
-        this.isDone = false;
-        return ("ok, i've marked this task as not done yet: \n" + this);
+    public Task withDone(boolean isDone) {
+        if (this.isDone == isDone) {
+            return this;
+        }
+        Task copy = copyWithStatus(isDone);
+        copy.id = this.id;
+        copy.seq = this.seq;
+        return copy;
     }
 
+    /**
+     * Returns a copy of this task with the given ID, leaving this object unchanged.
+     * Loaders give tasks the ID read back from storage this way, and {@link TaskList} gives
+     * added tasks theirs instead of changing the caller's task.
+     * @param id positive task ID
+     * @return new task of the same type and status
+     */
+    public Task withId(long id) {
+        Task copy = copyWithStatus(isDone);
+        copy.id = id;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this task with the given insertion sequence number, leaving this object unchanged.
+     * {@link TaskList} stores such a copy of every task it indexes, so the caller's task is never numbered.
+     * @param seq position in insertion order
+     * @return new task of the same type, status and ID
+     */
+    Task withSeq(long seq) {
+        Task copy = copyWithStatus(isDone);
+        copy.id = this.id;
+        copy.seq = seq;
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this task with the given status and the same description and details.
+     * Implemented by subclasses.
+     * @param isDone whether the copy is completed
+     * @return new task of the same type
+     */
+    protected abstract Task copyWithStatus(boolean isDone);
+
     @Override
     public String toString() {
         return "[" + this.getStatusIcon() + "] " + this.description;
@@ -57,6 +103,24 @@ public abstract class Task {
      */
     public abstract String toSaveFormat();
 
+    /**
+     * Returns the position of this task in insertion order, assigned by its {@link TaskList}.
+     * Later tasks always have larger numbers, so sorting by it gives list order.
+     * @return insertion sequence number
+     */
+    long getSeq() {
+        return this.seq;
+    }
+
+    /**
+     * Returns the stable ID of this task, which is saved with it and never changes or gets reused,
+     * unlike its position in the list.
+     * @return task ID, or 0 if the task has not been added to a {@link TaskList} or loaded with one
+     */
+    public long getId() {
+        return this.id;
+    }
+
     /**
      * Returns the description of this task.
      * @return task description
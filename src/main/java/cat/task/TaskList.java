@@ -3,7 +3,13 @@ package cat.task;
 import static java.util.stream.Collectors.joining;
 
 import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.IntStream;
 
 import cat.exception.InvalidTaskIndexException;
@@ -11,131 +17,665 @@ import cat.exception.InvalidTaskIndexException;
 /**
  * Represents a list of tasks.
  * A <code>TaskList</code> stores and manages multiple {@link Task} objects.
+ * <p>
+ * Every task has a stable ID (see {@link Task#getId()}) besides its position. Tasks live in an
+ * append-only array of slots; deleting one leaves a tombstone in its slot instead of shifting
+ * every later task, and a {@link FenwickTree} over the slots maps a position to its slot in
+ * O(log n). The array is compacted once tombstones outnumber live tasks.
+ * </p>
+ * <p>
+ * Tasks are never changed in place: marking one swaps in the copy returned by
+ * {@link Task#withDone(boolean)}. Once a history depth is set with {@link #setHistoryDepth(int)},
+ * the list also keeps its versions from before the last few changes as {@link PersistentTaskSequence}s
+ * for {@link #undo()} and {@link #redo()}. Versions share all but the changed paths, so each
+ * change costs O(log n) extra memory per task it touches rather than a copy of the list.
+ * </p>
  */
-public class TaskList {
-    private ArrayList<Task> ls;
+public class TaskList implements TaskStore {
+    /** Trigram posting entries allowed before that index switches itself off (4 bytes each, ~128 MB). */
+    private static final long TRIGRAM_BUDGET_ENTRIES = 32_000_000L;
+
+    /** Tombstones tolerated regardless of list size before the slots are compacted. */
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 64;
+
+    private static final String MARKED_MESSAGE = "nice! i've marked this task as done: \n";
+    private static final String UNMARKED_MESSAGE = "ok, i've marked this task as not done yet: \n";
+
+    /** A version of the list, together with the change that leads from it to the next one. */
+    private static final class Version {
+        private final PersistentTaskSequence tasks;
+        private final String change;
+
+        Version(PersistentTaskSequence tasks, String change) {
+            this.tasks = tasks;
+            this.change = change;
+        }
+    }
+
+    private final ArrayList<Task> slots;
+    private final FenwickTree liveSlots = new FenwickTree();
+    private final Map<Long, Task> byId = new HashMap<>();
+    private int size;
+    private long modCount;
+    private long nextSeq;
+    private long nextId;
+    private WordIndex wordIndex = new WordIndex();
+    private TrigramIndex trigramIndex = new TrigramIndex(TRIGRAM_BUDGET_ENTRIES);
+    private DeadlineIndex deadlineIndex = new DeadlineIndex();
+    private EventIndex eventIndex = new EventIndex();
+    private int historyDepth;
+    /** The current version, kept up to date change by change; null while there is no history. */
+    private PersistentTaskSequence version;
+    private final ArrayDeque<Version> undoStack = new ArrayDeque<>();
+    private final ArrayDeque<Version> redoStack = new ArrayDeque<>();
 
     /**
-     * Creates a task list with the given tasks.
+     * Creates a task list with the given tasks and indexes them for {@link #search(String)}
+     * and the date queries. Tasks without an ID, or with one already taken, get a new one.
      * @param ls list of tasks
      */
     public TaskList(ArrayList<Task> ls) {
-        this.ls = ls;
+        this(ls, 1);
+    }
+
+    /**
+     * Creates a task list with the given tasks, handing out IDs from <code>nextId</code> on,
+     * or from past the largest ID in <code>ls</code> if that is higher.
+     * @param ls list of tasks, e.g. as loaded by storage; copied, so later changes to it do not affect this list
+     * @param nextId first ID that may be given to a task, so that IDs of deleted tasks are never reused
+     */
+    public TaskList(ArrayList<Task> ls, long nextId) {
+        this.slots = new ArrayList<>(ls);
+        this.nextId = Math.max(nextId, 1);
+        for (Task task : ls) {
+            this.nextId = Math.max(this.nextId, task.getId() + 1);
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            Task task = slots.get(i);
+            if (needsId(task)) {
+                task = task.withId(this.nextId++);
+            }
+            slots.set(i, index(task));
+        }
+        this.size = ls.size();
+        liveSlots.fill(size);
+    }
+
+    private boolean needsId(Task task) {
+        return task.getId() <= 0 || byId.containsKey(task.getId());
+    }
+
+    /**
+     * Indexes a copy of the task numbered with the next sequence number and returns that copy for storing.
+     */
+    private Task index(Task task) {
+        Task indexed = task.withSeq(nextSeq++);
+        byId.put(indexed.getId(), indexed);
+        wordIndex.add(indexed);
+        trigramIndex.add(indexed);
+        deadlineIndex.add(indexed);
+        eventIndex.add(indexed);
+        return indexed;
+    }
+
+    private void unindex(Task task) {
+        byId.remove(task.getId());
+        wordIndex.remove(task);
+        trigramIndex.remove(task);
+        deadlineIndex.remove(task);
+        eventIndex.remove(task);
     }
 
     /**
      * Formats all tasks in the list with their index.
      */
+    @Override
     public String formatList() {
-        if (ls.isEmpty()) {
+        return formatList(liveTasks());
+    }
+
+    static String formatList(List<Task> ls) {
+        return formatList(ls.size(), 0, ls.size(), (out, i) -> out.append(ls.get(i)));
+    }
+
+    /**
+     * Formats one page of the list: the tasks at positions <code>from</code> to
+     * <code>from + limit - 1</code>, numbered by their place in the whole list.
+     * The first task is found in O(log n) and the rest by stepping over deleted slots,
+     * so the cost depends on the page, not the list.
+     * @param from position of the first task on the page (0-based)
+     * @param limit most tasks to show
+     */
+    @Override
+    public String formatList(int from, int limit) {
+        if (from >= size) {
+            return formatList(size, from, limit, (out, i) -> { });
+        }
+        int[] slot = {liveSlots.select(from)};
+        return formatList(size, from, limit, (out, i) -> {
+            while (slots.get(slot[0]) == null) {
+                slot[0]++;
+            }
+            out.append(slots.get(slot[0]++));
+        });
+    }
+
+    /**
+     * Writes a page of numbered tasks into one builder, without formatting each line on its own.
+     * A page that covers the whole list gets the same header as the full list.
+     * @param size number of tasks in the list
+     * @param from position of the first task on the page (0-based)
+     * @param limit most tasks to show, at least 1
+     * @param row appends the task at a position to the builder
+     */
+    static String formatList(int size, int from, int limit, ObjIntConsumer<StringBuilder> row) {
+        assert limit > 0 : "a page must hold at least one task";
+        if (size == 0) {
             return "oops no tasks yet";
         }
-        String output = "here are the tasks in your list! \n";
-        output += IntStream.range(0, ls.size())
-                .mapToObj(i -> String.format("%d. %s", i + 1, ls.get(i)))
-                .collect(joining("\n"));
-        return output;
+        if (from >= size) {
+            return "oops there are only " + size + " tasks in your list.";
+        }
+        int to = (int) Math.min((long) from + limit, size);
+        StringBuilder output = new StringBuilder(from == 0 && to == size
+                ? "here are the tasks in your list! \n"
+                : "here are tasks " + (from + 1) + "-" + to + " of " + size + " in your list! \n");
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                output.append('\n');
+            }
+            row.accept(output.append(i + 1).append(". "), i);
+        }
+        return output.toString();
     }
 
     /**
      * Marks a task as done.
      * @param taskNum index of task in list (0-based)
      */
+    @Override
     public String markDone(int taskNum) throws InvalidTaskIndexException {
-        if (taskNum < 0 || taskNum >= ls.size()) {
-            throw new InvalidTaskIndexException("oops! task # " + (taskNum + 1) + " does not exist.");
-        }
-        return this.ls.get(taskNum).markDone();
+        return markDoneAt(taskNum);
+    }
+
+    private String markDoneAt(int taskNum) throws InvalidTaskIndexException {
+        checkPosition(taskNum);
+        recordChange("marking a task as done");
+        Task task = setDone(taskNum, true);
+        modCount++;
+        return MARKED_MESSAGE + task;
     }
 
     /**
      * Marks a task as not done.
      * @param taskNum index of task in list (0-based)
      */
+    @Override
     public String unmarkDone(int taskNum) throws InvalidTaskIndexException {
-        if (taskNum < 0 || taskNum >= ls.size()) {
-            throw new InvalidTaskIndexException("oops! task # " + (taskNum + 1) + " does not exist.");
-        }
-        return this.ls.get(taskNum).unmarkDone();
+        return unmarkDoneAt(taskNum);
+    }
+
+    private String unmarkDoneAt(int taskNum) throws InvalidTaskIndexException {
+        checkPosition(taskNum);
+        recordChange("marking a task as not done");
+        Task task = setDone(taskNum, false);
+        modCount++;
+        return UNMARKED_MESSAGE + task;
     }
 
     /**
      * Deletes a task from the list and prints a message.
      * @param taskNum index of task in list (0-based)
      */
+    @Override
     public String delete(int taskNum) throws InvalidTaskIndexException {
-        if (taskNum < 0 || taskNum >= ls.size()) {
-            throw new InvalidTaskIndexException("oops! task # " + (taskNum + 1) + " does not exist.");
+        return deleteAt(taskNum);
+    }
+
+    private String deleteAt(int taskNum) throws InvalidTaskIndexException {
+        checkPosition(taskNum);
+        recordChange("deleting a task");
+        Task removed = bury(liveSlots.select(taskNum));
+        compactIfSparse();
+        if (version != null) {
+            version = version.remove(taskNum);
         }
-        Task removed = ls.get(taskNum);
-        ls.remove(taskNum);
+        modCount++;
         return ("okayy i've removed this task: \n"
-                + removed + "\n now you have " + ls.size() + " tasks in the list.\n");
+                + removed + "\n now you have " + size + " tasks in the list.\n");
+    }
+
+    private void checkPosition(int taskNum) throws InvalidTaskIndexException {
+        if (taskNum < 0 || taskNum >= size) {
+            throw new InvalidTaskIndexException("oops! task # " + (taskNum + 1) + " does not exist.");
+        }
+    }
+
+    private Task taskAt(int taskNum) throws InvalidTaskIndexException {
+        checkPosition(taskNum);
+        return slots.get(liveSlots.select(taskNum));
+    }
+
+    /**
+     * Swaps the task at a position for a copy with the given status and points the indexes at it.
+     */
+    private Task setDone(int taskNum, boolean isDone) {
+        int slot = liveSlots.select(taskNum);
+        Task task = slots.get(slot);
+        Task updated = task.withDone(isDone);
+        if (updated != task) {
+            slots.set(slot, updated);
+            byId.put(updated.getId(), updated);
+            wordIndex.replace(updated);
+            trigramIndex.replace(updated);
+            deadlineIndex.replace(updated);
+            eventIndex.replace(updated);
+            if (version != null) {
+                version = version.set(taskNum, updated);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Replaces the task in a slot with a tombstone and unindexes it.
+     */
+    private Task bury(int slot) {
+        Task removed = slots.set(slot, null);
+        liveSlots.add(slot, -1);
+        size--;
+        unindex(removed);
+        return removed;
+    }
+
+    /**
+     * Drops the tombstones once they outnumber live tasks, so memory and scans stay proportional
+     * to the list size. Amortized over the deletes that made them, this costs O(1) per delete.
+     */
+    private void compactIfSparse() {
+        int tombstones = slots.size() - size;
+        if (tombstones > size && tombstones >= MIN_TOMBSTONES_TO_COMPACT) {
+            slots.removeIf(Objects::isNull);
+            liveSlots.fill(size);
+        }
+    }
+
+    /**
+     * Marks several tasks as done in one go.
+     * @param taskNums positions of the tasks, all resolved against the list before any change
+     */
+    @Override
+    public String markDone(TaskNumbers taskNums) throws InvalidTaskIndexException {
+        if (taskNums.size() == 1) {
+            return markDoneAt(taskNums.get(0));
+        }
+        taskNums.checkWithin(size);
+        recordChange("marking " + taskNums.size() + " tasks as done");
+        StringBuilder output = new StringBuilder("nice! i've marked these " + taskNums.size() + " tasks as done:");
+        for (int i = 0; i < taskNums.size(); i++) {
+            output.append('\n').append(setDone(taskNums.get(i), true));
+        }
+        modCount++;
+        return output.toString();
+    }
+
+    /**
+     * Marks several tasks as not done in one go.
+     * @param taskNums positions of the tasks, all resolved against the list before any change
+     */
+    @Override
+    public String unmarkDone(TaskNumbers taskNums) throws InvalidTaskIndexException {
+        if (taskNums.size() == 1) {
+            return unmarkDoneAt(taskNums.get(0));
+        }
+        taskNums.checkWithin(size);
+        recordChange("marking " + taskNums.size() + " tasks as not done");
+        StringBuilder output = new StringBuilder("ok, i've marked these " + taskNums.size()
+                + " tasks as not done yet:");
+        for (int i = 0; i < taskNums.size(); i++) {
+            output.append('\n').append(setDone(taskNums.get(i), false));
+        }
+        modCount++;
+        return output.toString();
+    }
+
+    /**
+     * Deletes several tasks in one go. No remaining task moves: each deleted one leaves a tombstone.
+     * @param taskNums positions of the tasks, all resolved against the list before any change
+     */
+    @Override
+    public String delete(TaskNumbers taskNums) throws InvalidTaskIndexException {
+        if (taskNums.size() == 1) {
+            return deleteAt(taskNums.get(0));
+        }
+        taskNums.checkWithin(size);
+        int[] doomed = new int[taskNums.size()];
+        for (int i = 0; i < doomed.length; i++) {
+            doomed[i] = liveSlots.select(taskNums.get(i));
+        }
+        recordChange("deleting " + doomed.length + " tasks");
+        StringBuilder output = new StringBuilder("okayy i've removed these " + doomed.length + " tasks:");
+        for (int slot : doomed) {
+            output.append('\n').append(bury(slot));
+        }
+        compactIfSparse();
+        if (version != null) {
+            for (int i = taskNums.size() - 1; i >= 0; i--) {
+                version = version.remove(taskNums.get(i));
+            }
+        }
+        modCount++;
+        return output.append("\n now you have ").append(size).append(" tasks in the list.\n").toString();
+    }
+
+    /**
+     * Returns the positions of every task that is done, e.g. for <code>delete done</code>.
+     * @return positions of the done tasks, possibly none
+     */
+    @Override
+    public TaskNumbers findDone() {
+        List<Task> tasks = liveTasks();
+        return TaskNumbers.of(IntStream.range(0, tasks.size()).filter(i -> tasks.get(i).isDone()).toArray());
     }
 
     /**
      * Adds a task to the list and prints a message.
+     * A task without an ID, or with one already taken, is added as a copy with a new ID;
+     * use {@link #get(int)} for the task as stored.
      * @param task the task to add
      */
+    @Override
     public String add(Task task) {
-        ls.add(task);
-        return "got it!! i've added this task: \n" + task
-                + "\nnow you have " + ls.size() + " tasks in the list.\n";
+        recordChange("adding a task");
+        Task added = index(needsId(task) ? task.withId(nextId++) : task);
+        nextId = Math.max(nextId, added.getId() + 1);
+        slots.add(added);
+        liveSlots.append(1);
+        size++;
+        if (version != null) {
+            version = version.append(added);
+        }
+        modCount++;
+        return "got it!! i've added this task: \n" + added
+                + "\nnow you have " + size + " tasks in the list.\n";
+    }
+
+    /**
+     * Sets how many changes {@link #undo()} can step back through. Keeping the history costs
+     * O(n) memory for the current version plus O(log n) per change; 0, the default, keeps none.
+     * @param depth number of changes to remember; older ones are forgotten first
+     */
+    @Override
+    public void setHistoryDepth(int depth) {
+        historyDepth = Math.max(depth, 0);
+        if (historyDepth == 0) {
+            version = null;
+            undoStack.clear();
+            redoStack.clear();
+            return;
+        }
+        if (version == null) {
+            version = PersistentTaskSequence.of(liveTasks());
+        }
+        while (undoStack.size() > historyDepth) {
+            undoStack.removeLast();
+        }
+        while (redoStack.size() > historyDepth) {
+            redoStack.removeLast();
+        }
+    }
+
+    /**
+     * Remembers the current version before a change, dropping the oldest one past the history depth.
+     * Any undone changes can no longer be redone.
+     */
+    private void recordChange(String change) {
+        if (version == null) {
+            return;
+        }
+        undoStack.push(new Version(version, change));
+        if (undoStack.size() > historyDepth) {
+            undoStack.removeLast();
+        }
+        redoStack.clear();
+    }
+
+    /**
+     * Takes back the last change that has not been undone yet.
+     * The list is rebuilt from the earlier version, which takes O(n).
+     */
+    @Override
+    public String undo() {
+        Version previous = undoStack.poll();
+        if (previous == null) {
+            return "hmm nothing to undo.";
+        }
+        redoStack.push(new Version(version, previous.change));
+        restore(previous.tasks);
+        return "okayy i've undone " + previous.change + ".\n now you have " + size + " tasks in the list.\n";
+    }
+
+    /**
+     * Makes the last undone change again, as long as nothing else changed since.
+     * The list is rebuilt from the later version, which takes O(n).
+     */
+    @Override
+    public String redo() {
+        Version next = redoStack.poll();
+        if (next == null) {
+            return "hmm nothing to redo.";
+        }
+        undoStack.push(new Version(version, next.change));
+        restore(next.tasks);
+        return "okayy i've redone " + next.change + ".\n now you have " + size + " tasks in the list.\n";
+    }
+
+    /**
+     * Replaces the contents with a version from the history and reindexes them.
+     * Tasks keep their IDs, and IDs handed out since are still never reused.
+     */
+    private void restore(PersistentTaskSequence tasks) {
+        version = tasks;
+        slots.clear();
+        byId.clear();
+        nextSeq = 0;
+        wordIndex = new WordIndex();
+        trigramIndex = new TrigramIndex(TRIGRAM_BUDGET_ENTRIES);
+        deadlineIndex = new DeadlineIndex();
+        eventIndex = new EventIndex();
+        for (Task task : tasks.toList()) {
+            slots.add(index(task));
+        }
+        size = slots.size();
+        liveSlots.fill(size);
+        modCount++;
     }
 
     /**
      * Prints all deadline tasks due on the given date.
      * @param date date to filter deadlines
      */
+    @Override
     public String dueOnDate(LocalDate date) {
-        var due = ls.stream()
-                .filter(t -> t instanceof Deadline && ((Deadline) t).dueOn(date))
-                .toList();
+        List<Deadline> due = deadlineIndex.between(date, date);
         if (due.isEmpty()) {
             return "yay no tasks due on " + date;
         }
         return due.stream().map(Task::toString).collect(joining("\n"));
     }
 
+    /**
+     * Prints all deadline tasks due between the two dates, earliest first.
+     * @param from first date, inclusive
+     * @param to last date, inclusive
+     */
+    @Override
+    public String dueBetween(LocalDate from, LocalDate to) {
+        List<Deadline> due = deadlineIndex.between(from, to);
+        if (due.isEmpty()) {
+            return "yay no tasks due between " + from + " and " + to;
+        }
+        return due.stream().map(Task::toString).collect(joining("\n"));
+    }
+
+    /**
+     * Prints all deadline tasks that are not done and were due before the given date, earliest first.
+     * @param today date from which a deadline counts as overdue
+     */
+    @Override
+    public String overdue(LocalDate today) {
+        List<Deadline> due = deadlineIndex.before(today);
+        due.removeIf(Task::isDone);
+        if (due.isEmpty()) {
+            return "yay nothing is overdue";
+        }
+        return "these tasks are overdue:\n" + due.stream().map(Task::toString).collect(joining("\n"));
+    }
+
+    /**
+     * Prints all events taking place on the given date, earliest start first.
+     * Events whose bounds are not dates are never listed.
+     * @param date date to check
+     */
+    @Override
+    public String eventsOn(LocalDate date) {
+        List<Event> events = eventIndex.overlapping(date, date);
+        if (events.isEmpty()) {
+            return "yay nothing on " + date;
+        }
+        return "here's what's on " + date + ":\n"
+                + events.stream().map(Task::toString).collect(joining("\n"));
+    }
+
+    /**
+     * Prints all events taking place on any day between the two dates, earliest start first.
+     * Events whose bounds are not dates are never listed.
+     * @param from first date, inclusive
+     * @param to last date, inclusive
+     */
+    @Override
+    public String eventsBetween(LocalDate from, LocalDate to) {
+        List<Event> events = eventIndex.overlapping(from, to);
+        if (events.isEmpty()) {
+            return "yay no events between " + from + " and " + to;
+        }
+        return "here are the events between " + from + " and " + to + ":\n"
+                + events.stream().map(Task::toString).collect(joining("\n"));
+    }
+
     /**
      * Searches for tasks whose descriptions contain the given keyword.
      * If matching tasks are found, prints them with their details.
      * Otherwise, prints a message saying no tasks were found.
+     * <p>
+     * Keywords of three or more characters are answered from the trigram index,
+     * shorter single-word keywords from the word index, and anything else (or everything,
+     * if the trigram index has outgrown its memory budget) by scanning every description.
+     * </p>
      *
      * @param keyword the word or phrase to search for, e.g. <code>"book"</code>
      */
+    @Override
     public String search(String keyword) {
-        ArrayList<Task> found = new ArrayList<>();
-
-        for (Task task : this.ls) {
-            if (task.getDescription().contains(keyword)) {
-                found.add(task);
+        List<Task> found = trigramIndex.search(keyword);
+        if (found == null) {
+            found = wordIndex.search(keyword);
+        }
+        if (found == null) {
+            found = new ArrayList<>();
+            for (Task task : this.slots) {
+                if (task != null && task.getDescription().contains(keyword)) {
+                    found.add(task);
+                }
             }
         }
 
         if (found.size() != 0) {
-            String output = "here are the matching tasks in your list:\n";
+            StringBuilder output = new StringBuilder("here are the matching tasks in your list:");
             int counter = 1;
             for (Task task : found) {
-                output += counter + ". " + task.toString();
+                output.append('\n').append(counter).append(". ").append(task);
                 counter++;
             }
-            return output;
+            return output.toString();
         } else {
             return "uhoh no tasks found :(\n";
         }
     }
 
     /**
-     * Returns the underlying list of tasks managed by this {@code TaskList}.
+     * Returns the number of tasks in the list.
+     * @return task count
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the task at a position, in O(log n).
+     * @param taskNum index of task in list (0-based)
+     * @return the task
+     * @throws InvalidTaskIndexException if there is no task at that position
+     */
+    @Override
+    public Task get(int taskNum) throws InvalidTaskIndexException {
+        return taskAt(taskNum);
+    }
+
+    /**
+     * Returns the task with the given ID, wherever it is in the list.
+     * @param id task ID
+     * @return the task, or null if no task in the list has that ID
+     */
+    @Override
+    public Task getById(long id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Returns the ID that the next task without one will get.
+     * Storage saves it, so IDs of deleted tasks are not handed out again after a restart.
+     * @return next unused task ID
+     */
+    @Override
+    public long getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Returns the number of modifications made through this list so far.
+     * Bumped once per call to {@link #add}, {@link #delete}, {@link #markDone} and {@link #unmarkDone},
+     * including their batch forms, and once per successful {@link #undo()} or {@link #redo()},
+     * so callers can tell whether anything changed since they last looked.
+     * @return modification counter
+     */
+    @Override
+    public long getModCount() {
+        return this.modCount;
+    }
+
+    /**
+     * Returns the tasks in list order.
      * <p>
-     * The returned {@link ArrayList} is the actual internal storage, not a copy.
-     * Modifications to this list will directly affect the {@code TaskList}.
+     * The returned {@link ArrayList} is a fresh copy, so changing it does not affect this
+     * {@code TaskList}. Use {@link #get(int)} or {@link #getById(long)} to look up a single task.
      * </p>
      *
      * @return the list of {@link Task} objects currently stored in this task list
      */
+    @Override
     public ArrayList<Task> getTasks() {
-        return this.ls;
+        return liveTasks();
+    }
+
+    private ArrayList<Task> liveTasks() {
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (Task task : slots) {
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
     }
 }
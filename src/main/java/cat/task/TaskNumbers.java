@@ -0,0 +1,156 @@
+package cat.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import cat.exception.InvalidTaskIndexException;
+
+/**
+ * Set of task positions that one command acts on, e.g. <code>3,5,9-40</code>.
+ * <p>
+ * The text form is a comma-separated list of numbers and inclusive ranges, in any order;
+ * duplicates and overlaps count once. Users type 1-based numbers, the journal stores 0-based
+ * ones. All positions refer to the list as it was before the command, so
+ * <code>delete 2,3</code> removes the second and third task, not the second and then the
+ * task that moved up into third place.
+ * </p>
+ */
+public final class TaskNumbers {
+    private static final String SEPARATOR = ",";
+    private static final String RANGE = "-";
+
+    private final int[] positions;
+
+    private TaskNumbers(int[] positions) {
+        this.positions = positions;
+    }
+
+    /**
+     * Creates a set from 0-based positions, which may repeat and be in any order.
+     * @param positions 0-based task positions
+     * @return sorted set of the positions
+     */
+    public static TaskNumbers of(int... positions) {
+        return new TaskNumbers(Arrays.stream(positions).sorted().distinct().toArray());
+    }
+
+    /**
+     * Parses the text form and checks every number against the list size.
+     * @param text numbers and ranges, e.g. <code>3,5,9-40</code>
+     * @param base number of the first task in <code>text</code>: 1 for user input, 0 for the journal
+     * @param size number of tasks in the list
+     * @return sorted 0-based positions
+     * @throws InvalidTaskIndexException if a part is not a number or range, or names a task that does not exist
+     */
+    public static TaskNumbers parse(String text, int base, int size) throws InvalidTaskIndexException {
+        String[] parts = text.split(SEPARATOR, -1);
+        BitSet selected = new BitSet(size);
+        for (String part : parts) {
+            String trimmed = part.trim();
+            int dash = trimmed.indexOf(RANGE, 1);
+            int from = parseNumber(dash < 0 ? trimmed : trimmed.substring(0, dash), base, size);
+            int to = dash < 0 ? from : parseNumber(trimmed.substring(dash + 1), base, size);
+            if (to < from) {
+                throw new InvalidTaskIndexException("oops! " + trimmed + " is not a valid range.");
+            }
+            selected.set(from, to + 1);
+        }
+        return new TaskNumbers(selected.stream().toArray());
+    }
+
+    private static int parseNumber(String text, int base, int size) throws InvalidTaskIndexException {
+        String trimmed = text.trim();
+        int number;
+        try {
+            number = Integer.parseInt(trimmed);
+        } catch (NumberFormatException e) {
+            throw new InvalidTaskIndexException("oops! " + (trimmed.isEmpty() ? "that" : trimmed)
+                    + " is not a task number.");
+        }
+        if (number < base || number - base >= size) {
+            throw new InvalidTaskIndexException("oops! task # " + (number - base + 1) + " does not exist.");
+        }
+        return number - base;
+    }
+
+    /**
+     * Returns how many tasks the set names.
+     * @return number of positions
+     */
+    public int size() {
+        return positions.length;
+    }
+
+    /**
+     * Returns the <code>i</code>-th smallest position.
+     * @param i index into the set
+     * @return 0-based task position
+     */
+    public int get(int i) {
+        return positions[i];
+    }
+
+    /**
+     * Checks that every position names a task in a list of the given size.
+     * @param size number of tasks in the list
+     * @throws InvalidTaskIndexException if the largest position is past the end of the list
+     */
+    void checkWithin(int size) throws InvalidTaskIndexException {
+        if (positions.length > 0 && positions[positions.length - 1] >= size) {
+            throw new InvalidTaskIndexException("oops! task # " + (positions[positions.length - 1] + 1)
+                    + " does not exist.");
+        }
+    }
+
+    /**
+     * Removes the elements at these positions in one pass, shifting each kept element at most once.
+     * @param list list whose size covers every position
+     * @param <T> element type
+     * @return the removed elements, in list order
+     */
+    public <T> List<T> removeFrom(List<T> list) {
+        List<T> removed = new ArrayList<>(positions.length);
+        int kept = positions.length == 0 ? list.size() : positions[0];
+        int next = 0;
+        for (int i = kept; i < list.size(); i++) {
+            if (next < positions.length && positions[next] == i) {
+                removed.add(list.get(i));
+                next++;
+            } else {
+                list.set(kept++, list.get(i));
+            }
+        }
+        list.subList(kept, list.size()).clear();
+        return removed;
+    }
+
+    /**
+     * Writes the set in its text form, collapsing runs into ranges.
+     * @param base number of the first task: 1 for display, 0 for the journal
+     * @return text form, e.g. <code>3,5,9-40</code>
+     */
+    public String format(int base) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < positions.length; i++) {
+            int start = positions[i];
+            while (i + 1 < positions.length && positions[i + 1] == positions[i] + 1) {
+                i++;
+            }
+            if (out.length() > 0) {
+                out.append(SEPARATOR);
+            }
+            out.append(start + base);
+            if (positions[i] != start) {
+                out.append(RANGE).append(positions[i] + base);
+            }
+        }
+        return out.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format(0);
+    }
+}
@@ -0,0 +1,173 @@
+package cat.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import cat.exception.InvalidTaskIndexException;
+
+/**
+ * Operations the app performs on its tasks, independent of how they are kept.
+ * <p>
+ * {@link TaskList} keeps task objects with search and date indexes and an undo history;
+ * {@link ColumnarTaskList} keeps them in columns of primitives for large lists. Positions are 0-based,
+ * and every method that changes the list returns the reply shown to the user.
+ * </p>
+ */
+public interface TaskStore {
+    /**
+     * Formats all tasks in the list with their index.
+     */
+    String formatList();
+
+    /**
+     * Formats one page of the list: the tasks at positions <code>from</code> to
+     * <code>from + limit - 1</code>, numbered by their place in the whole list.
+     * @param from position of the first task on the page (0-based)
+     * @param limit most tasks to show
+     */
+    String formatList(int from, int limit);
+
+    /**
+     * Marks a task as done.
+     * @param taskNum index of task in list (0-based)
+     */
+    String markDone(int taskNum) throws InvalidTaskIndexException;
+
+    /**
+     * Marks a task as not done.
+     * @param taskNum index of task in list (0-based)
+     */
+    String unmarkDone(int taskNum) throws InvalidTaskIndexException;
+
+    /**
+     * Deletes a task.
+     * @param taskNum index of task in list (0-based)
+     */
+    String delete(int taskNum) throws InvalidTaskIndexException;
+
+    /**
+     * Marks several tasks as done in one go.
+     * @param taskNums positions of the tasks, all resolved against the list before any change
+     */
+    String markDone(TaskNumbers taskNums) throws InvalidTaskIndexException;
+
+    /**
+     * Marks several tasks as not done in one go.
+     * @param taskNums positions of the tasks, all resolved against the list before any change
+     */
+    String unmarkDone(TaskNumbers taskNums) throws InvalidTaskIndexException;
+
+    /**
+     * Deletes several tasks in one go.
+     * @param taskNums positions of the tasks, all resolved against the list before any change
+     */
+    String delete(TaskNumbers taskNums) throws InvalidTaskIndexException;
+
+    /**
+     * Returns the positions of every task that is done, e.g. for <code>delete done</code>.
+     * @return positions of the done tasks, possibly none
+     */
+    TaskNumbers findDone();
+
+    /**
+     * Adds a task to the list. A task without an ID, or with one already taken, gets a new one;
+     * use {@link #get(int)} for the task as stored.
+     * @param task the task to add
+     */
+    String add(Task task);
+
+    /**
+     * Sets how many changes {@link #undo()} can step back through.
+     * @param depth number of changes to remember; 0 keeps none
+     */
+    void setHistoryDepth(int depth);
+
+    /**
+     * Takes back the last change that has not been undone yet.
+     */
+    String undo();
+
+    /**
+     * Makes the last undone change again, as long as nothing else changed since.
+     */
+    String redo();
+
+    /**
+     * Prints all deadline tasks due on the given date.
+     * @param date date to filter deadlines
+     */
+    String dueOnDate(LocalDate date);
+
+    /**
+     * Prints all deadline tasks due between the two dates, earliest first.
+     * @param from first date, inclusive
+     * @param to last date, inclusive
+     */
+    String dueBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Prints all deadline tasks that are not done and were due before the given date, earliest first.
+     * @param today date from which a deadline counts as overdue
+     */
+    String overdue(LocalDate today);
+
+    /**
+     * Prints all events taking place on the given date, earliest start first.
+     * @param date date to check
+     */
+    String eventsOn(LocalDate date);
+
+    /**
+     * Prints all events taking place on any day between the two dates, earliest start first.
+     * @param from first date, inclusive
+     * @param to last date, inclusive
+     */
+    String eventsBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Prints the tasks whose descriptions contain the keyword, matched like <code>String.contains</code>.
+     * @param keyword the word or phrase to search for, e.g. <code>"book"</code>
+     */
+    String search(String keyword);
+
+    /**
+     * Returns the number of tasks in the list.
+     * @return task count
+     */
+    int size();
+
+    /**
+     * Returns the task at a position.
+     * @param taskNum index of task in list (0-based)
+     * @return the task
+     * @throws InvalidTaskIndexException if there is no task at that position
+     */
+    Task get(int taskNum) throws InvalidTaskIndexException;
+
+    /**
+     * Returns the task with the given ID, wherever it is in the list.
+     * @param id task ID
+     * @return the task, or null if no task in the list has that ID
+     */
+    Task getById(long id);
+
+    /**
+     * Returns the ID that the next task without one will get.
+     * Storage saves it, so IDs of deleted tasks are not handed out again after a restart.
+     * @return next unused task ID
+     */
+    long getNextId();
+
+    /**
+     * Returns the number of modifications made through this list so far,
+     * so callers can tell whether anything changed since they last looked.
+     * @return modification counter
+     */
+    long getModCount();
+
+    /**
+     * Returns the tasks in list order, as a fresh list that does not affect this one when changed.
+     * @return the tasks currently stored
+     */
+    ArrayList<Task> getTasks();
+}
@@ -15,6 +15,11 @@ public class Todo extends Task {
         super(description, isDone);
     }
 
+    @Override
+    protected Task copyWithStatus(boolean isDone) {
+        return new Todo(description, isDone);
+    }
+
     @Override
     public String toString() {
         return "[T] " + super.toString();
@@ -0,0 +1,203 @@
+package cat.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index from every 3-character substring of task descriptions to the tasks containing it.
+ * <p>
+ * Any keyword of three or more characters can only occur in a description that contains
+ * all of the keyword's trigrams, so intersecting their postings gives a small candidate set
+ * that is then checked with {@link String#contains}. This answers partial-word and
+ * multi-word <code>find</code> queries without scanning every task.
+ * </p>
+ * <p>
+ * Postings are sorted arrays of insertion sequence numbers. Deleted tasks are dropped from
+ * the task map at once and purged from postings lazily, once dead entries outnumber live ones.
+ * If the live postings would exceed the memory budget the index switches itself off and
+ * {@link #search(String)} returns null, so callers fall back to other strategies.
+ * </p>
+ */
+class TrigramIndex {
+    static final int MIN_QUERY_LENGTH = 3;
+
+    /** Growable sorted array of sequence numbers. */
+    private static final class Postings {
+        private int[] seqs = new int[4];
+        private int size;
+
+        void add(int seq) {
+            if (size == seqs.length) {
+                seqs = Arrays.copyOf(seqs, size * 2);
+            }
+            seqs[size++] = seq;
+        }
+    }
+
+    private final long maxEntries;
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Integer, Task> tasks = new HashMap<>();
+    private long liveEntries;
+    private long deadEntries;
+    private boolean isEnabled = true;
+
+    /**
+     * Creates an empty index.
+     * @param maxEntries most posting entries (4 bytes each) the index may hold before it switches off
+     */
+    TrigramIndex(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Indexes the task's description.
+     * Tasks must be added in increasing sequence order, which {@link TaskList} guarantees.
+     * @param task task that has been assigned its sequence number
+     */
+    void add(Task task) {
+        if (!isEnabled) {
+            return;
+        }
+        long[] grams = trigrams(task.getDescription());
+        if (liveEntries + grams.length > maxEntries) {
+            disable();
+            return;
+        }
+        int seq = (int) task.getSeq();
+        tasks.put(seq, task);
+        for (long gram : grams) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(seq);
+        }
+        liveEntries += grams.length;
+    }
+
+    /**
+     * Removes the task. Its posting entries are purged later.
+     * @param task previously indexed task
+     */
+    void remove(Task task) {
+        if (!isEnabled || tasks.remove((int) task.getSeq()) == null) {
+            return;
+        }
+        long count = trigrams(task.getDescription()).length;
+        liveEntries -= count;
+        deadEntries += count;
+        if (deadEntries > liveEntries) {
+            purge();
+        }
+    }
+
+    /**
+     * Points the index at a new version of an indexed task, e.g. after it was marked done.
+     * The postings only hold sequence numbers, so they stay as they are.
+     * @param task replacement with the same sequence number and description as the indexed task
+     */
+    void replace(Task task) {
+        if (isEnabled) {
+            tasks.replace((int) task.getSeq(), task);
+        }
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain <code>keyword</code>, in list order.
+     * @param keyword text to look for
+     * @return matching tasks, or null if the keyword is too short or the index is switched off
+     */
+    List<Task> search(String keyword) {
+        if (!isEnabled || keyword.length() < MIN_QUERY_LENGTH) {
+            return null;
+        }
+        long[] grams = trigrams(keyword);
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return new ArrayList<>();
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        List<Task> found = new ArrayList<>();
+        Postings smallest = lists[0];
+        int[] cursors = new int[lists.length];
+        candidates:
+        for (int i = 0; i < smallest.size; i++) {
+            int seq = smallest.seqs[i];
+            for (int j = 1; j < lists.length; j++) {
+                cursors[j] = advance(lists[j], cursors[j], seq);
+                if (cursors[j] >= lists[j].size || lists[j].seqs[cursors[j]] != seq) {
+                    continue candidates;
+                }
+            }
+            Task task = tasks.get(seq);
+            if (task != null && task.getDescription().contains(keyword)) {
+                found.add(task);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the first position at or after <code>from</code> whose value is at least <code>seq</code>,
+     * galloping so that skipping long runs costs logarithmic time.
+     */
+    private static int advance(Postings list, int from, int seq) {
+        int step = 1;
+        int lo = from;
+        int hi = from;
+        while (hi < list.size && list.seqs[hi] < seq) {
+            lo = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+        int idx = Arrays.binarySearch(list.seqs, lo, Math.min(hi + 1, list.size), seq);
+        return idx >= 0 ? idx : -idx - 1;
+    }
+
+    private void purge() {
+        postings.values().removeIf(list -> {
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                if (tasks.containsKey(list.seqs[i])) {
+                    list.seqs[kept++] = list.seqs[i];
+                }
+            }
+            list.size = kept;
+            return kept == 0;
+        });
+        deadEntries = 0;
+    }
+
+    private void disable() {
+        isEnabled = false;
+        postings.clear();
+        tasks.clear();
+        liveEntries = 0;
+        deadEntries = 0;
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed as three 16-bit chars.
+     */
+    static long[] trigrams(String text) {
+        int n = text.length() - MIN_QUERY_LENGTH + 1;
+        if (n <= 0) {
+            return new long[0];
+        }
+        long[] grams = new long[n];
+        for (int i = 0; i < n; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || grams[i] != grams[unique - 1]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, unique);
+    }
+}
@@ -0,0 +1,105 @@
+package cat.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from whitespace-separated words of task descriptions to the tasks containing them.
+ * <p>
+ * A keyword without whitespace can only occur inside a single word, so the tasks whose
+ * descriptions contain it are exactly the postings of the words that contain it. That keeps
+ * the substring semantics of <code>find</code> while touching only the vocabulary and the matches,
+ * not every task. Postings keep tasks in insertion order, which is also list order.
+ * </p>
+ */
+class WordIndex {
+    private final Map<String, LinkedHashMap<Long, Task>> postings = new HashMap<>();
+
+    /**
+     * Indexes every word of the task's description.
+     * @param task task that has been assigned its sequence number
+     */
+    void add(Task task) {
+        for (String word : words(task.getDescription())) {
+            postings.computeIfAbsent(word, w -> new LinkedHashMap<>()).put(task.getSeq(), task);
+        }
+    }
+
+    /**
+     * Removes the task from the postings of every word of its description.
+     * @param task previously indexed task
+     */
+    void remove(Task task) {
+        for (String word : words(task.getDescription())) {
+            LinkedHashMap<Long, Task> tasks = postings.get(word);
+            if (tasks != null) {
+                tasks.remove(task.getSeq());
+                if (tasks.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Points the postings at a new version of an indexed task, e.g. after it was marked done.
+     * @param task replacement with the same sequence number and description as the indexed task
+     */
+    void replace(Task task) {
+        for (String word : words(task.getDescription())) {
+            postings.get(word).replace(task.getSeq(), task);
+        }
+    }
+
+    /**
+     * Returns the tasks whose descriptions contain <code>keyword</code>, in list order.
+     * @param keyword text to look for
+     * @return matching tasks, or null if the keyword contains whitespace or is empty and must be scanned for
+     */
+    List<Task> search(String keyword) {
+        if (keyword.isEmpty() || keyword.chars().anyMatch(Character::isWhitespace)) {
+            return null;
+        }
+        List<LinkedHashMap<Long, Task>> hits = new ArrayList<>();
+        for (Map.Entry<String, LinkedHashMap<Long, Task>> entry : postings.entrySet()) {
+            if (entry.getKey().contains(keyword)) {
+                hits.add(entry.getValue());
+            }
+        }
+        if (hits.size() == 1) {
+            return new ArrayList<>(hits.get(0).values());
+        }
+        LinkedHashMap<Long, Task> union = new LinkedHashMap<>();
+        for (LinkedHashMap<Long, Task> tasks : hits) {
+            union.putAll(tasks);
+        }
+        List<Task> found = new ArrayList<>(union.values());
+        found.sort(Comparator.comparingLong(Task::getSeq));
+        return found;
+    }
+
+    /**
+     * Splits text into its distinct maximal runs of non-whitespace characters.
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isBreak = i == text.length() || Character.isWhitespace(text.charAt(i));
+            if (isBreak && start >= 0) {
+                String word = text.substring(start, i);
+                if (!words.contains(word)) {
+                    words.add(word);
+                }
+                start = -1;
+            } else if (!isBreak && start < 0) {
+                start = i;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,93 @@
+package cat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import cat.task.Task;
+
+public class CatTest {
+    private static final String FILE_PATH = "./data/cat-test.txt";
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.deleteIfExists(Path.of(FILE_PATH));
+        Files.deleteIfExists(Path.of(FILE_PATH + ".log"));
+    }
+
+    @Test
+    public void undo_isSaved_soJournalReplayAfterwardsStillMatches() throws IOException {
+        Cat cat = new Cat(FILE_PATH);
+        cat.respond("todo a");
+        cat.respond("todo b");
+        cat.respond("delete 1");
+        assertEquals("okayy i've undone deleting a task.\n now you have 2 tasks in the list.\n",
+                cat.respond("undo"));
+        cat.respond("mark 2");
+        cat.flush();
+
+        ArrayList<Task> loaded = new Storage(FILE_PATH).load();
+        assertEquals(2, loaded.size());
+        assertEquals("a", loaded.get(0).getDescription());
+        assertFalse(loaded.get(0).isDone());
+        assertTrue(loaded.get(1).isDone());
+        assertEquals("hmm nothing to redo.", cat.respond("redo"));
+    }
+
+    @Test
+    public void lostJournalRecord_isReportedByNextChange_andRecoveredByBye() throws IOException {
+        Cat cat = new Cat(FILE_PATH);
+        Path log = Path.of(FILE_PATH + ".log");
+        Files.createDirectories(log);
+        cat.respond("todo a");
+        assertThrows(IOException.class, cat::flush);
+        assertTrue(cat.respond("todo b").startsWith("OOPS!!! Could not save tasks to file: "));
+
+        Files.delete(log);
+        cat.respond("bye");
+        ArrayList<Task> loaded = new Storage(FILE_PATH).load();
+        assertEquals(2, loaded.size());
+        assertEquals("b", loaded.get(1).getDescription());
+    }
+
+    @Test
+    public void isBye_matchesExactlyTheInputsThatRunBye() {
+        Cat cat = new Cat(FILE_PATH);
+        assertTrue(cat.isBye("bye"));
+        assertTrue(cat.isBye("BYE"));
+        assertTrue(cat.isBye("bye now"));
+        assertFalse(cat.isBye("byebye"));
+        assertFalse(cat.isBye("todo bye"));
+    }
+
+    @Test
+    public void list_pageAndLimit_showOnlyThatPage() {
+        Cat cat = new Cat(FILE_PATH);
+        for (int i = 1; i <= 120; i++) {
+            cat.respond("todo task " + i);
+        }
+
+        String page = cat.respond("list page 3");
+        assertTrue(page.startsWith("here are tasks 101-120 of 120 in your list! \n101. [T] [ ] task 101\n"));
+        assertEquals(21, page.split("\n").length);
+        assertEquals("here are tasks 1-2 of 120 in your list! \n1. [T] [ ] task 1\n2. [T] [ ] task 2",
+                cat.respond("list --limit 2"));
+        assertTrue(cat.respond("list page 2 --limit 10").startsWith("here are tasks 11-20 of 120"));
+        assertEquals(cat.respond("list page 1") + "\n...and 70 more. try list page 2 or list all to see them.",
+                cat.respond("list"));
+        assertEquals(121, cat.respond("list all").split("\n").length);
+        assertEquals("oops there are only 120 tasks in your list.", cat.respond("list page 4"));
+        assertEquals("oops! try list, list page 2, list --limit 50 or list all.", cat.respond("list page 0"));
+        assertEquals("oops! try list, list page 2, list --limit 50 or list all.", cat.respond("list --limit"));
+        assertEquals("oops! try list, list page 2, list --limit 50 or list all.", cat.respond("list everything"));
+    }
+}
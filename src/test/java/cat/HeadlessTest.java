@@ -0,0 +1,56 @@
+package cat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HeadlessTest {
+    private static final String FILE_PATH = "./data/headless.txt";
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.deleteIfExists(Path.of(FILE_PATH));
+        Files.deleteIfExists(Path.of(FILE_PATH + ".log"));
+    }
+
+    @Test
+    public void run_batch_writesOneSnapshotAndNoJournal() throws IOException {
+        StringBuilder commands = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            commands.append("todo task ").append(i).append('\n');
+        }
+        commands.append("mark 1\n\ndelete 1000\n");
+        StringWriter out = new StringWriter();
+
+        long count = new Headless(new Cat(FILE_PATH), 0)
+                .run(new BufferedReader(new StringReader(commands.toString())), out);
+
+        assertEquals(1_002, count);
+        assertTrue(out.toString().contains("now you have 1000 tasks in the list."));
+        assertFalse(Files.exists(Path.of(FILE_PATH + ".log")));
+        Storage storage = new Storage(FILE_PATH);
+        assertEquals(999, storage.load().size());
+        assertTrue(storage.load().get(0).isDone());
+    }
+
+    @Test
+    public void run_stopsAtBye() throws IOException {
+        StringWriter out = new StringWriter();
+        long count = new Headless(new Cat(FILE_PATH), 1)
+                .run(new BufferedReader(new StringReader("todo a\nbye\ntodo b\n")), out);
+
+        assertEquals(2, count);
+        assertTrue(out.toString().endsWith("byeee <3" + System.lineSeparator()));
+        assertEquals(1, new Storage(FILE_PATH).load().size());
+    }
+}
@@ -103,4 +103,36 @@ public class ParserTest {
         assertTrue(t instanceof Deadline);
         assertEquals("read", ((Deadline) t).getDescription());
     }
+
+    @Test
+    void inputScanner_splitsDescriptionAndFlags() {
+        InputScanner line = InputScanner.ofCommand("  event  read a/b tests /FROM 2024-03-24  /to 2024-03-25 ")
+                .scanFlags("from", "to");
+        assertEquals("event", line.command());
+        assertEquals("read a/b tests", line.description());
+        assertEquals("2024-03-24", line.flag("from"));
+        assertEquals("2024-03-25", line.flag("to"));
+        assertEquals(1, line.flagCount("to"));
+    }
+
+    @Test
+    void inputScanner_flagWithoutSeparator_staysInText() {
+        InputScanner line = InputScanner.ofArguments("read /bye /by /by 2025-01-01").scanFlags("by");
+        assertEquals("read /bye", line.description());
+        assertEquals("", line.flag("by"));
+        assertEquals(2, line.flagCount("by"));
+    }
+
+    @Test
+    void parseEvent_duplicateFlags_keepMessages() {
+        InvalidException from = assertThrows(InvalidException.class, () ->
+                Parser.parseTask("event x /from 2024-03-24 /from 2024-03-25 /to 2024-03-26"));
+        assertEquals("Multiple /from parameters detected.", from.getMessage());
+        InvalidException to = assertThrows(InvalidException.class, () ->
+                Parser.parseTask("event x /from 2024-03-24 /to 2024-03-25 /to 2024-03-26"));
+        assertEquals("Multiple /to parameters detected.", to.getMessage());
+        EmptyException missing = assertThrows(EmptyException.class, () ->
+                Parser.parseTask("event x /to 2024-03-26"));
+        assertEquals("OOPS!!! Use: event <desc> /from <yyyy-mm-dd> /to <yyyy-mm-dd>.", missing.getMessage());
+    }
 }
@@ -0,0 +1,146 @@
+package cat;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives a {@link Server} with several concurrent clients and reports throughput and latency percentiles.
+ * Each client adds todos, and every fourth request is a <code>find</code> instead.
+ * <p>
+ * Usage: <code>java cat.ServerLoadGenerator [--port &lt;N&gt;] [--clients &lt;C&gt;] [--requests &lt;R&gt;]</code>.
+ * Without <code>--port</code> a server is started in-process on a scratch task file.
+ * </p>
+ */
+public class ServerLoadGenerator {
+    private static final int DEFAULT_CLIENTS = 8;
+    private static final int DEFAULT_REQUESTS = 2_000;
+
+    /**
+     * Runs the load and prints the results.
+     * @param args options, see the class description
+     * @throws Exception if the server cannot be reached
+     */
+    public static void main(String[] args) throws Exception {
+        int port = 0;
+        int clients = DEFAULT_CLIENTS;
+        int requests = DEFAULT_REQUESTS;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+            case "--port":
+                port = Integer.parseInt(args[++i]);
+                break;
+            case "--clients":
+                clients = Integer.parseInt(args[++i]);
+                break;
+            case "--requests":
+                requests = Integer.parseInt(args[++i]);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        Server server = null;
+        Path dir = null;
+        if (port == 0) {
+            dir = Files.createTempDirectory("cat-load");
+            server = new Server(new Cat(dir.resolve("cat.txt").toString()), 0);
+            port = server.getPort();
+        }
+        try {
+            run(port, clients, requests);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static void run(int port, int clients, int requests) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            results.add(pool.submit(() -> runClient(port, client, requests)));
+        }
+        long[] latencies = new long[clients * requests];
+        int n = 0;
+        for (Future<long[]> result : results) {
+            long[] clientLatencies = result.get();
+            System.arraycopy(clientLatencies, 0, latencies, n, clientLatencies.length);
+            n += clientLatencies.length;
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%d clients x %d requests in %.2f s%n", clients, requests, elapsed / 1e9);
+        System.out.printf("throughput %,.0f requests/s%n", latencies.length * 1e9 / elapsed);
+        System.out.printf("latency p50 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                latencies[latencies.length - 1] / 1e6);
+    }
+
+    private static long[] runClient(int port, int client, int requests) throws IOException {
+        long[] latencies = new long[requests];
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            for (int i = 0; i < requests; i++) {
+                String command = i % 4 == 3
+                        ? "find client " + client + " task " + (i - 1)
+                        : "todo client " + client + " task " + i;
+                long sent = System.nanoTime();
+                out.write(command + "\n");
+                out.flush();
+                readReply(in);
+                latencies[i] = System.nanoTime() - sent;
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * Reads one reply, up to its terminating line, undoing dot-stuffing.
+     * @param in connection to the server
+     * @return reply lines joined with newlines
+     * @throws IOException if the connection closes mid-reply
+     */
+    static String readReply(BufferedReader in) throws IOException {
+        StringBuilder reply = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(Server.END_OF_REPLY)) {
+            if (reply.length() > 0) {
+                reply.append('\n');
+            }
+            reply.append(line.startsWith(Server.END_OF_REPLY) ? line.substring(1) : line);
+        }
+        if (line == null) {
+            throw new IOException("Connection closed mid-reply");
+        }
+        return reply.toString();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
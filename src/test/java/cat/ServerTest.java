@@ -0,0 +1,112 @@
+package cat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ServerTest {
+    private static final String FILE_PATH = "./data/server.txt";
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.deleteIfExists(Path.of(FILE_PATH));
+        Files.deleteIfExists(Path.of(FILE_PATH + ".log"));
+    }
+
+    @Test
+    public void concurrentClients_allChangesApplied_andJournaled() throws Exception {
+        int clients = 4;
+        int perClient = 50;
+        try (Server server = new Server(new Cat(FILE_PATH), 0)) {
+            List<Thread> threads = new ArrayList<>();
+            List<Throwable> failures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                Thread t = new Thread(() -> {
+                    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                            BufferedReader in = new BufferedReader(
+                                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+                        for (int i = 0; i < perClient; i++) {
+                            out.write("todo c" + client + " t" + i + "\n");
+                            out.flush();
+                            assertTrue(ServerLoadGenerator.readReply(in).startsWith("got it!!"));
+                        }
+                    } catch (Throwable e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                });
+                threads.add(t);
+                t.start();
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+            assertEquals(List.of(), failures);
+            // Every reply was sent after its record was durable, so a fresh load sees them all.
+            assertEquals(clients * perClient, new Storage(FILE_PATH).load().size());
+        }
+    }
+
+    @Test
+    public void writeReply_dotLines_roundTrip() throws Exception {
+        StringWriter wire = new StringWriter();
+        Server.writeReply(wire, "first\n.second\n..third\n");
+        assertEquals("first\n..second\n...third\n.\n", wire.toString());
+        assertEquals("first\n.second\n..third",
+                ServerLoadGenerator.readReply(new BufferedReader(new StringReader(wire.toString()))));
+    }
+
+    @Test
+    public void bye_closesOnlyThatConnection() throws Exception {
+        try (Server server = new Server(new Cat(FILE_PATH), 0);
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            out.write("todo .hidden\nlist\nbye\n");
+            out.flush();
+            ServerLoadGenerator.readReply(in);
+            assertEquals("here are the tasks in your list! \n1. [T] [ ] .hidden", ServerLoadGenerator.readReply(in));
+            assertEquals("byeee <3", ServerLoadGenerator.readReply(in));
+            assertEquals(null, in.readLine());
+            assertEquals(0, Files.size(Path.of(FILE_PATH)), "bye must not write a snapshot");
+        }
+        assertEquals(1, new Storage(FILE_PATH).load().size());
+    }
+
+    @Test
+    public void failedJournalWrite_repliesWithSaveError() throws Exception {
+        try (Server server = new Server(new Cat(FILE_PATH), 0);
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+            Files.createDirectories(Path.of(FILE_PATH + ".log"));
+            out.write("todo a\n");
+            out.flush();
+            assertTrue(ServerLoadGenerator.readReply(in).startsWith("OOPS!!! Could not save tasks to file: "));
+            Files.delete(Path.of(FILE_PATH + ".log"));
+        }
+        assertEquals(1, new Storage(FILE_PATH).load().size());
+    }
+}
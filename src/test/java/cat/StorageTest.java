@@ -1,19 +1,48 @@
 package cat;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import cat.storage.GroupCommitWriter;
+import cat.storage.Journal;
+import cat.storage.SnapshotFormat;
+import cat.task.Deadline;
+import cat.task.Event;
 import cat.task.Task;
+import cat.task.TaskList;
+import cat.task.TaskNumbers;
+import cat.task.Todo;
 
 public class StorageTest {
 
     private final String testFilePath = "./data/test.txt";
 
+    @BeforeEach
+    public void clearJournal() throws IOException {
+        Journal journal = new Journal(Path.of(testFilePath + ".log"));
+        Files.deleteIfExists(Path.of(testFilePath + ".log"));
+        for (Path rotated : journal.listRotated().values()) {
+            Files.delete(rotated);
+        }
+    }
+
     @Test
     public void load_validFile_noException() throws IOException {
         FileWriter fw = new FileWriter(testFilePath);
@@ -41,4 +70,295 @@ public class StorageTest {
         assertEquals(1, tasks.size());
         assertEquals("submit report", tasks.get(0).getDescription());
     }
+
+    @Test
+    public void load_journal_replaysMutationsOnSnapshot() throws IOException {
+        FileWriter fw = new FileWriter(testFilePath);
+        fw.write("T |   | read book\n");
+        fw.write("D |   | submit report | 2025-09-01\n");
+        fw.close();
+
+        Storage storage = new Storage(testFilePath);
+        storage.logAdd(new Event("book club", "2024-03-24", "2024-03-25", false));
+        storage.logMark(TaskNumbers.of(1));
+        storage.logDelete(TaskNumbers.of(0));
+        storage.logAdd(new Todo("water plants", false));
+        storage.logUnmark(TaskNumbers.of(0));
+
+        ArrayList<Task> tasks = new Storage(testFilePath).load();
+        assertEquals(3, tasks.size());
+        assertEquals(new Deadline("submit report", LocalDate.of(2025, 9, 1), false), tasks.get(0));
+        assertEquals(" ", tasks.get(0).getStatusIcon());
+        assertEquals(new Event("book club", "2024-03-24", "2024-03-25", false), tasks.get(1));
+        assertEquals("water plants", tasks.get(2).getDescription());
+    }
+
+    @Test
+    public void load_batchRecords_resolvePositionsBeforeTheBatch() throws Exception {
+        FileWriter fw = new FileWriter(testFilePath);
+        for (int i = 0; i < 6; i++) {
+            fw.write("T |   | task " + i + "\n");
+        }
+        fw.close();
+
+        Storage storage = new Storage(testFilePath);
+        storage.logMark(TaskNumbers.parse("1,3-4", 0, 6));
+        storage.logDelete(TaskNumbers.parse("0,2-3", 0, 6));
+        storage.logUnmark(TaskNumbers.of(0));
+
+        ArrayList<Task> tasks = new Storage(testFilePath).load();
+        assertEquals(3, tasks.size());
+        assertEquals("task 1", tasks.get(0).getDescription());
+        assertEquals(" ", tasks.get(0).getStatusIcon());
+        assertEquals("task 4", tasks.get(1).getDescription());
+        assertEquals("X", tasks.get(1).getStatusIcon());
+        assertEquals("task 5", tasks.get(2).getDescription());
+        assertEquals(" ", tasks.get(2).getStatusIcon());
+    }
+
+    @Test
+    public void save_clearsJournal() throws IOException {
+        Storage storage = new Storage(testFilePath);
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book", true));
+        storage.save(new TaskList(tasks));
+        storage.logAdd(new Todo("borrow book", false));
+
+        storage.save(new TaskList(tasks));
+
+        ArrayList<Task> loaded = new Storage(testFilePath).load();
+        assertEquals(1, loaded.size());
+        assertEquals("X", loaded.get(0).getStatusIcon());
+    }
+
+    @Test
+    public void compaction_foldsJournalIntoSnapshot() throws Exception {
+        new FileWriter(testFilePath).close();
+        Storage storage = new Storage(testFilePath, 3, Long.MAX_VALUE, false, SnapshotFormat.TEXT);
+        storage.load();
+        for (int i = 0; i < 5; i++) {
+            storage.logAdd(new Todo("task " + i, false));
+        }
+        storage.awaitCompaction();
+
+        Journal journal = new Journal(Path.of(testFilePath + ".log"));
+        assertTrue(journal.listRotated().isEmpty());
+        assertEquals(2, journal.readAll().size());
+        assertEquals("# journal 1", Files.readAllLines(Path.of(testFilePath)).get(0));
+
+        ArrayList<Task> loaded = new Storage(testFilePath).load();
+        assertEquals(5, loaded.size());
+        assertEquals("task 4", loaded.get(4).getDescription());
+    }
+
+    @Test
+    public void load_rotatedLogAlreadyInSnapshot_notReplayedTwice() throws IOException {
+        FileWriter fw = new FileWriter(testFilePath);
+        fw.write("# journal 2\n");
+        fw.write("T |   | read book\n");
+        fw.close();
+        Files.writeString(Path.of(testFilePath + ".log.2"), "add | T |   | read book\n");
+        Files.writeString(Path.of(testFilePath + ".log.3"), "mark | 0\n");
+
+        ArrayList<Task> tasks = new Storage(testFilePath).load();
+        assertEquals(1, tasks.size());
+        assertEquals("X", tasks.get(0).getStatusIcon());
+    }
+
+    @Test
+    public void save_unchangedList_skipsWrite() throws Exception {
+        Storage storage = new Storage(testFilePath);
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(new Todo("read book", false));
+
+        storage.save(tasks);
+        storage.save(tasks);
+        tasks.markDone(0);
+        storage.save(tasks);
+
+        assertEquals(2, storage.getWritesPerformed());
+        assertEquals(1, storage.getWritesSkipped());
+    }
+
+    @Test
+    public void asyncLog_flush_writesAllRecords() throws IOException {
+        new FileWriter(testFilePath).close();
+        Storage storage = new Storage(testFilePath, true);
+        storage.load();
+        for (int i = 0; i < 100; i++) {
+            storage.logAdd(new Todo("task " + i, false));
+        }
+        storage.logMark(TaskNumbers.of(99)).join();
+        storage.flush();
+
+        ArrayList<Task> loaded = new Storage(testFilePath).load();
+        assertEquals(100, loaded.size());
+        assertEquals("task 0", loaded.get(0).getDescription());
+        assertEquals("X", loaded.get(99).getStatusIcon());
+    }
+
+    @Test
+    public void groupCommit_failedWrite_rejectsLaterRecordsUntilCleared() throws Exception {
+        List<String> written = new ArrayList<>();
+        AtomicBoolean isBroken = new AtomicBoolean(true);
+        GroupCommitWriter writer = new GroupCommitWriter(records -> {
+            if (isBroken.getAndSet(false)) {
+                throw new IOException("disk full");
+            }
+            written.addAll(records);
+        }, 1, 0);
+
+        CompletableFuture<Void> lost = writer.submit("mark | 0");
+        assertThrows(ExecutionException.class, lost::get);
+        assertEquals("disk full", assertThrows(IOException.class, () -> writer.submit("delete | 1")).getMessage());
+        assertThrows(IOException.class, writer::flush);
+
+        writer.clearFailure();
+        writer.submit("delete | 1");
+        writer.flush();
+        assertEquals(List.of("delete | 1"), written);
+    }
+
+    @Test
+    public void binaryFormat_migratesTextFileAndRoundTrips() throws Exception {
+        FileWriter fw = new FileWriter(testFilePath);
+        fw.write("T | X | read book\n");
+        fw.write("D |   | submit report | 2025-09-01\n");
+        fw.write("E |   | book club | 2024-03-24 | 2024-03-25\n");
+        fw.write("E | X | project meeting | Mon 2pm | 4pm\n");
+        fw.close();
+
+        Storage storage = new Storage(testFilePath, false, SnapshotFormat.BINARY);
+        TaskList tasks = new TaskList(storage.load());
+        tasks.markDone(1);
+        storage.save(tasks);
+
+        assertTrue(Files.readString(Path.of(testFilePath), StandardCharsets.ISO_8859_1)
+                .startsWith("CATB"));
+        ArrayList<Task> loaded = new Storage(testFilePath).load();
+        assertEquals(4, loaded.size());
+        assertEquals("X", loaded.get(0).getStatusIcon());
+        assertEquals(new Deadline("submit report", LocalDate.of(2025, 9, 1), true), loaded.get(1));
+        assertEquals("X", loaded.get(1).getStatusIcon());
+        assertEquals(new Event("book club", "2024-03-24", "2024-03-25", false), loaded.get(2));
+        assertEquals(new Event("project meeting", "Mon 2pm", "4pm", true), loaded.get(3));
+    }
+
+    @Test
+    public void taskIds_persistAndAreNeverReused() throws Exception {
+        for (SnapshotFormat format : SnapshotFormat.values()) {
+            clearJournal();
+            Files.writeString(Path.of(testFilePath), "T |   | old task\n");
+
+            Storage storage = new Storage(testFilePath, false, format);
+            TaskList tasks = new TaskList(storage.load(), storage.getNextId());
+            tasks.add(new Todo("kept", false));
+            storage.logAdd(tasks.get(1));
+            tasks.add(new Todo("dropped", false));
+            storage.logAdd(tasks.get(2));
+            long keptId = tasks.get(1).getId();
+            long droppedId = tasks.get(2).getId();
+            tasks.delete(2);
+            storage.logDelete(TaskNumbers.of(2));
+
+            Storage reloaded = new Storage(testFilePath, false, format);
+            TaskList afterReplay = new TaskList(reloaded.load(), reloaded.getNextId());
+            assertEquals(tasks.get(0).getId(), afterReplay.get(0).getId());
+            assertEquals(keptId, afterReplay.get(1).getId());
+            assertEquals(droppedId + 1, afterReplay.getNextId());
+
+            storage.save(tasks);
+            Storage saved = new Storage(testFilePath, false, format);
+            TaskList afterSave = new TaskList(saved.load(), saved.getNextId());
+            assertEquals(tasks.get(0).getId(), afterSave.get(0).getId());
+            assertEquals("kept", afterSave.getById(keptId).getDescription());
+            afterSave.add(new Todo("new", false));
+            assertTrue(afterSave.get(2).getId() > droppedId);
+        }
+    }
+
+    @Test
+    public void load_largeFile_parallelLoadKeepsOrderAndSkipsCorruptedLines() throws IOException {
+        int count = 60_000;
+        StringBuilder sb = new StringBuilder("# journal 0\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("T | ").append(i % 2 == 0 ? "X" : " ").append(" | task number ").append(i).append('\n');
+            if (i == count / 2) {
+                sb.append("ERROR ERROR\n");
+            }
+        }
+        Files.writeString(Path.of(testFilePath), sb);
+
+        ArrayList<Task> tasks = new Storage(testFilePath).load();
+        assertEquals(count, tasks.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals("task number " + i, tasks.get(i).getDescription());
+        }
+    }
+
+    @Test
+    public void load_tornJournalTail_recoversLastConsistentState() throws IOException {
+        new FileWriter(testFilePath).close();
+        Storage storage = new Storage(testFilePath);
+        storage.logAdd(new Todo("read book", false));
+        storage.logAdd(new Todo("borrow book", false));
+        Path log = Path.of(testFilePath + ".log");
+        byte[] bytes = Files.readAllBytes(log);
+        Files.write(log, Arrays.copyOf(bytes, bytes.length - 4));
+
+        ArrayList<Task> tasks = new Storage(testFilePath).load();
+        assertEquals(1, tasks.size());
+        assertEquals("read book", tasks.get(0).getDescription());
+
+        Storage reopened = new Storage(testFilePath);
+        reopened.logAdd(new Todo("water plants", false));
+        ArrayList<Task> reloaded = new Storage(testFilePath).load();
+        assertEquals(2, reloaded.size());
+        assertEquals("water plants", reloaded.get(1).getDescription());
+    }
+
+    @Test
+    public void load_damagedJournalRecord_stopsReplayThere() throws IOException {
+        new FileWriter(testFilePath).close();
+        Storage storage = new Storage(testFilePath);
+        storage.logAdd(new Todo("read book", false));
+        storage.logAdd(new Todo("borrow book", false));
+        storage.logDelete(TaskNumbers.of(0));
+        Path log = Path.of(testFilePath + ".log");
+        Files.writeString(log, Files.readString(log).replace("borrow", "burrow"));
+
+        ArrayList<Task> tasks = new Storage(testFilePath).load();
+        assertEquals(1, tasks.size());
+        assertEquals("read book", tasks.get(0).getDescription());
+    }
+
+    @Test
+    public void load_damagedChecksumPrefix_isNotTakenForLegacyRecord() throws IOException {
+        new FileWriter(testFilePath).close();
+        Storage storage = new Storage(testFilePath);
+        storage.logAdd(new Todo("read book", false));
+        storage.logDelete(TaskNumbers.of(0));
+        storage.logAdd(new Todo("borrow book", false));
+        Path log = Path.of(testFilePath + ".log");
+        List<String> lines = Files.readAllLines(log);
+        lines.set(1, "zz" + lines.get(1).substring(2));
+        Files.write(log, lines);
+
+        ArrayList<Task> tasks = new Storage(testFilePath).load();
+        assertEquals(1, tasks.size());
+        assertEquals("read book", tasks.get(0).getDescription());
+    }
+
+    @Test
+    public void load_truncatedBinaryHeader_throwsIoException() throws Exception {
+        Files.writeString(Path.of(testFilePath), "T |   | read book\n");
+        Storage storage = new Storage(testFilePath, false, SnapshotFormat.BINARY);
+        TaskList tasks = new TaskList(storage.load());
+        tasks.markDone(0);
+        storage.save(tasks);
+        Path file = Path.of(testFilePath);
+        Files.write(file, Arrays.copyOf(Files.readAllBytes(file), 20));
+
+        assertThrows(IOException.class, () -> new Storage(testFilePath).load());
+    }
 }
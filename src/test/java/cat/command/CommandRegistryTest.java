@@ -0,0 +1,44 @@
+package cat.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import cat.Parser;
+
+public class CommandRegistryTest {
+
+    private CommandRegistry registry() {
+        CommandRegistry registry = new CommandRegistry(input -> "task");
+        registry.register("due", input -> "due");
+        registry.register("delete", input -> "delete");
+        registry.register("deadline", input -> "deadline");
+        registry.register("list", input -> "list");
+        return registry;
+    }
+
+    @Test
+    public void resolve_exactWord_beatsAliasOfSameName() throws Exception {
+        assertEquals("due", registry().resolve("due 2025-09-01").execute(""));
+        assertEquals("deadline", registry().resolve("dl read /by 2025-09-01").execute(""));
+    }
+
+    @Test
+    public void resolve_wordPrefix_goesToFallback() throws Exception {
+        assertEquals("task", registry().resolve("deletefoo").execute(""));
+        assertEquals("delete", registry().resolve("  delete   3").execute(""));
+    }
+
+    @Test
+    public void resolve_userAlias_reachesCommand() throws Exception {
+        Parser.addAlias("alias ls list");
+        assertEquals("list", registry().resolve("ls").execute(""));
+    }
+
+    @Test
+    public void argumentsOf_missingArgument_throws() {
+        assertEquals("2025-09-01..2025-09-30", CommandRegistry.argumentsOf("due  2025-09-01..2025-09-30 "));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> CommandRegistry.argumentsOf("due"));
+    }
+}
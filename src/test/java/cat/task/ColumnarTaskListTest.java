@@ -0,0 +1,123 @@
+package cat.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import cat.exception.InvalidTaskIndexException;
+
+public class ColumnarTaskListTest {
+    private static final String[] WORDS = {"read", "book", "submit", "report", "café", "club", "mom", "x", "box"};
+    private static final LocalDate DAY = LocalDate.of(2025, 9, 1);
+
+    private static Task randomTask(Random random) {
+        String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+        boolean isDone = random.nextInt(4) == 0;
+        switch (random.nextInt(4)) {
+        case 0:
+            return new Deadline(description, DAY.plusDays(random.nextInt(30)), isDone);
+        case 1:
+            LocalDate from = DAY.plusDays(random.nextInt(30));
+            return new Event(description, from, from.plusDays(random.nextInt(5)), isDone);
+        case 2:
+            return new Event(description, "Mon 2pm", "4pm", isDone);
+        default:
+            return new Todo(description, isDone);
+        }
+    }
+
+    private static List<String> saved(TaskStore tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks.getTasks()) {
+            lines.add(task.getId() + " " + task.toSaveFormat());
+        }
+        return lines;
+    }
+
+    private static <T> void assertAgree(TaskStore expected, TaskStore actual, Query<T> query) throws Exception {
+        assertEquals(query.run(expected), query.run(actual));
+    }
+
+    private interface Query<T> {
+        T run(TaskStore tasks) throws Exception;
+    }
+
+    @Test
+    public void randomCommands_giveSameRepliesAsTaskList() throws Exception {
+        Random random = new Random(7);
+        Supplier<ArrayList<Task>> initial = () -> {
+            Random seeded = new Random(1);
+            ArrayList<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                tasks.add(randomTask(seeded));
+            }
+            return tasks;
+        };
+        TaskList expected = new TaskList(initial.get(), 10);
+        ColumnarTaskList actual = new ColumnarTaskList(initial.get(), 10);
+
+        for (int i = 0; i < 3_000; i++) {
+            int size = expected.size();
+            int op = random.nextInt(6);
+            if (op <= 1 || size < 5) {
+                long seed = random.nextLong();
+                assertAgree(expected, actual, tasks -> tasks.add(randomTask(new Random(seed))));
+            } else if (op == 2) {
+                int pos = random.nextInt(size);
+                assertAgree(expected, actual, tasks -> tasks.delete(pos));
+            } else {
+                int from = random.nextInt(size);
+                TaskNumbers taskNums = TaskNumbers.of(from, random.nextInt(size), Math.min(size - 1, from + 2));
+                if (op == 3) {
+                    assertAgree(expected, actual, tasks -> tasks.delete(taskNums));
+                } else if (op == 4) {
+                    assertAgree(expected, actual, tasks -> tasks.markDone(taskNums));
+                } else {
+                    assertAgree(expected, actual, tasks -> tasks.unmarkDone(taskNums));
+                }
+            }
+            if (i % 100 == 0) {
+                assertAgree(expected, actual, TaskStore::formatList);
+                assertAgree(expected, actual, tasks -> tasks.formatList(size / 2, 7));
+                for (String keyword : new String[] {"book", "o", "x", "fé", "d bo", "zzz"}) {
+                    assertAgree(expected, actual, tasks -> tasks.search(keyword));
+                }
+                assertAgree(expected, actual, tasks -> tasks.dueOnDate(DAY.plusDays(3)));
+                assertAgree(expected, actual, tasks -> tasks.dueBetween(DAY.plusDays(5), DAY.plusDays(12)));
+                assertAgree(expected, actual, tasks -> tasks.overdue(DAY.plusDays(10)));
+                assertAgree(expected, actual, tasks -> tasks.eventsOn(DAY.plusDays(4)));
+                assertAgree(expected, actual, tasks -> tasks.eventsBetween(DAY.plusDays(20), DAY.plusDays(22)));
+                assertAgree(expected, actual, tasks -> tasks.findDone().toString());
+                assertAgree(expected, actual, ColumnarTaskListTest::saved);
+            }
+        }
+        assertEquals(expected.getNextId(), actual.getNextId());
+        assertEquals(expected.getModCount(), actual.getModCount());
+    }
+
+    @Test
+    public void views_areBuiltOnDemand_andDoNotChangeTheList() throws Exception {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book", false));
+        tasks.add(new Event("book club", "Mon 2pm", "4pm", true));
+        ColumnarTaskList list = new ColumnarTaskList(tasks);
+
+        Task club = list.getById(2);
+        assertEquals("[E] [X] book club (from: Mon 2pm to: 4pm)", club.toString());
+        assertEquals("[E] [ ] book club (from: Mon 2pm to: 4pm)", club.withDone(false).toString());
+        assertEquals("[E] [X] book club (from: Mon 2pm to: 4pm)", list.get(1).toString());
+        assertNull(list.getById(3));
+        assertThrows(InvalidTaskIndexException.class, () -> list.get(2));
+        list.delete(0);
+        assertEquals("oops undo and redo are not available with the columnar backend.", list.undo());
+        assertEquals(1, list.size());
+    }
+}
@@ -0,0 +1,391 @@
+package cat.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import cat.exception.InvalidTaskIndexException;
+
+public class TaskListTest {
+
+    private TaskList sampleList() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book", false));
+        tasks.add(new Deadline("submit report", LocalDate.of(2025, 9, 1), false));
+        tasks.add(new Todo("buy notebook", false));
+        tasks.add(new Event("book club", "2024-03-24", "2024-03-25", false));
+        return new TaskList(tasks);
+    }
+
+    @Test
+    public void search_partialWord_matchesLikeContains() {
+        TaskList tasks = sampleList();
+        assertEquals("here are the matching tasks in your list:\n"
+                + "1. [T] [ ] read book\n"
+                + "2. [T] [ ] buy notebook\n"
+                + "3. [E] [ ] book club (from: 2024-03-24 to: 2024-03-25)", tasks.search("book"));
+        assertEquals("here are the matching tasks in your list:\n"
+                + "1. [D] [ ] submit report (by: Sep 01 2025)", tasks.search("rep"));
+    }
+
+    @Test
+    public void search_multipleWords_fallsBackToScan() {
+        TaskList tasks = sampleList();
+        assertEquals("here are the matching tasks in your list:\n"
+                + "1. [T] [ ] read book", tasks.search("d bo"));
+    }
+
+    @Test
+    public void search_shortKeyword_matchesWholeAndPartialWords() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("cargo ship", false));
+        tasks.add(new Todo("go running", false));
+        TaskList list = new TaskList(tasks);
+        assertEquals("here are the matching tasks in your list:\n"
+                + "1. [T] [ ] cargo ship\n2. [T] [ ] go running", list.search("go"));
+        assertEquals("here are the matching tasks in your list:\n"
+                + "1. [T] [ ] cargo ship", list.search("rg"));
+    }
+
+    @Test
+    public void search_afterAddAndDelete_indexStaysInSync() throws Exception {
+        TaskList tasks = sampleList();
+        tasks.delete(0);
+        tasks.add(new Todo("return book", false));
+        assertEquals("here are the matching tasks in your list:\n"
+                + "1. [T] [ ] buy notebook\n"
+                + "2. [E] [ ] book club (from: 2024-03-24 to: 2024-03-25)\n"
+                + "3. [T] [ ] return book", tasks.search("book"));
+        assertEquals("uhoh no tasks found :(\n", tasks.search("read"));
+    }
+
+    @Test
+    public void search_trigramIndex_matchesLinearScan() throws Exception {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            tasks.add(new Todo("task " + i + (i % 3 == 0 ? " submit report" : " read book"), false));
+        }
+        TaskList list = new TaskList(tasks);
+        for (int i = 0; i < 2_000; i += 7) {
+            list.delete(i / 7 * 6);
+        }
+        for (String keyword : new String[] {"rep", "t re", "k 19", "ask 1", "submit report", "zzz", "report!"}) {
+            StringBuilder expected = new StringBuilder();
+            int counter = 1;
+            for (Task task : list.getTasks()) {
+                if (task.getDescription().contains(keyword)) {
+                    expected.append('\n').append(counter++).append(". ").append(task);
+                }
+            }
+            String want = counter == 1
+                    ? "uhoh no tasks found :(\n"
+                    : "here are the matching tasks in your list:" + expected;
+            assertEquals(want, list.search(keyword), keyword);
+        }
+    }
+
+    @Test
+    public void trigramIndex_overBudget_switchesOff() {
+        TrigramIndex index = new TrigramIndex(10);
+        Task first = new Todo("abcdef", false);
+        index.add(first);
+        assertEquals(1, index.search("bcd").size());
+        index.add(new Todo("ghijklmnop", false));
+        assertNull(index.search("bcd"));
+        assertNull(index.search("hij"));
+    }
+
+    @Test
+    public void dueQueries_useDateOrder_andTrackDeletes() throws Exception {
+        TaskList tasks = sampleList();
+        tasks.add(new Deadline("pay rent", LocalDate.of(2025, 8, 28), false));
+        tasks.add(new Deadline("file taxes", LocalDate.of(2025, 9, 1), true));
+
+        assertEquals("[D] [ ] submit report (by: Sep 01 2025)\n"
+                + "[D] [X] file taxes (by: Sep 01 2025)", tasks.dueOnDate(LocalDate.of(2025, 9, 1)));
+        assertEquals("[D] [ ] pay rent (by: Aug 28 2025)\n"
+                + "[D] [ ] submit report (by: Sep 01 2025)\n"
+                + "[D] [X] file taxes (by: Sep 01 2025)",
+                tasks.dueBetween(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 9, 30)));
+        assertEquals("these tasks are overdue:\n"
+                + "[D] [ ] pay rent (by: Aug 28 2025)\n"
+                + "[D] [ ] submit report (by: Sep 01 2025)", tasks.overdue(LocalDate.of(2025, 9, 2)));
+
+        tasks.delete(1);
+        assertEquals("[D] [X] file taxes (by: Sep 01 2025)", tasks.dueOnDate(LocalDate.of(2025, 9, 1)));
+        assertEquals("yay no tasks due between 2025-08-01 and 2025-08-27",
+                tasks.dueBetween(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 27)));
+        assertEquals("yay nothing is overdue", tasks.overdue(LocalDate.of(2025, 8, 28)));
+    }
+
+    @Test
+    public void eventQueries_findOverlaps_andTrackDeletes() throws Exception {
+        TaskList tasks = sampleList();
+        tasks.add(new Event("hackathon", LocalDate.of(2024, 3, 20), LocalDate.of(2024, 3, 24), false));
+        tasks.add(new Event("exam week", "2024-04-01", "2024-04-05", false));
+        tasks.add(new Event("standup", "Mon 9am", "9.15am", false));
+
+        assertEquals("here's what's on 2024-03-24:\n"
+                + "[E] [ ] hackathon (from: 2024-03-20 to: 2024-03-24)\n"
+                + "[E] [ ] book club (from: 2024-03-24 to: 2024-03-25)", tasks.eventsOn(LocalDate.of(2024, 3, 24)));
+        assertEquals("here are the events between 2024-03-25 and 2024-04-01:\n"
+                + "[E] [ ] book club (from: 2024-03-24 to: 2024-03-25)\n"
+                + "[E] [ ] exam week (from: 2024-04-01 to: 2024-04-05)",
+                tasks.eventsBetween(LocalDate.of(2024, 3, 25), LocalDate.of(2024, 4, 1)));
+        assertEquals("yay nothing on 2024-03-26", tasks.eventsOn(LocalDate.of(2024, 3, 26)));
+
+        tasks.delete(3);
+        assertEquals("here's what's on 2024-03-24:\n"
+                + "[E] [ ] hackathon (from: 2024-03-20 to: 2024-03-24)", tasks.eventsOn(LocalDate.of(2024, 3, 24)));
+    }
+
+    @Test
+    public void eventIndex_matchesScan_onRandomIntervals() {
+        Random random = new Random(7);
+        EventIndex index = new EventIndex();
+        ArrayList<Event> events = new ArrayList<>();
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate from = base.plusDays(random.nextInt(365));
+            Event event = (Event) new Event("e" + i, from, from.plusDays(random.nextInt(30)), false).withSeq(i);
+            events.add(event);
+            index.add(event);
+        }
+        for (int i = 0; i < 500; i++) {
+            index.remove(events.remove(random.nextInt(events.size())));
+        }
+        for (int i = 0; i < 50; i++) {
+            LocalDate from = base.plusDays(random.nextInt(400));
+            LocalDate to = from.plusDays(random.nextInt(10));
+            long expected = events.stream()
+                    .filter(e -> !e.getFromDate().isAfter(to) && !e.getToDate().isBefore(from))
+                    .count();
+            assertEquals(expected, index.overlapping(from, to).size());
+        }
+        assertEquals(events.size(), index.size());
+    }
+
+    @Test
+    public void taskNumbers_parse_mergesRangesAndRejectsBadNumbers() throws Exception {
+        assertEquals("2,4,8-39", TaskNumbers.parse("9-40, 3,5,10", 1, 40).format(0));
+        assertEquals("3,5,9-40", TaskNumbers.parse("9-40,3,5,3", 1, 40).format(1));
+        assertThrows(InvalidTaskIndexException.class, () -> TaskNumbers.parse("3,41", 1, 40));
+        assertThrows(InvalidTaskIndexException.class, () -> TaskNumbers.parse("0", 1, 40));
+        assertThrows(InvalidTaskIndexException.class, () -> TaskNumbers.parse("5-3", 1, 40));
+        assertThrows(InvalidTaskIndexException.class, () -> TaskNumbers.parse("x", 1, 40));
+        assertThrows(InvalidTaskIndexException.class, () -> TaskNumbers.parse("1,,2", 1, 40));
+    }
+
+    @Test
+    public void batchDelete_resolvesAgainstListBeforeBatch_andKeepsIndexesInSync() throws Exception {
+        TaskList tasks = sampleList();
+        tasks.delete(TaskNumbers.parse("1,3", 1, tasks.size()));
+        assertEquals(2, tasks.size());
+        assertEquals("submit report", tasks.getTasks().get(0).getDescription());
+        assertEquals("book club", tasks.getTasks().get(1).getDescription());
+        assertEquals("here are the matching tasks in your list:\n"
+                + "1. [E] [ ] book club (from: 2024-03-24 to: 2024-03-25)", tasks.search("book"));
+    }
+
+    @Test
+    public void batchMark_thenDeleteDone_removesOnlyDoneTasks() throws Exception {
+        TaskList tasks = sampleList();
+        long before = tasks.getModCount();
+        tasks.markDone(TaskNumbers.parse("2-4", 1, tasks.size()));
+        tasks.unmarkDone(TaskNumbers.of(2));
+        assertEquals(before + 2, tasks.getModCount());
+
+        TaskNumbers done = tasks.findDone();
+        assertEquals("1,3", done.format(0));
+        tasks.delete(done);
+        assertEquals(2, tasks.size());
+        assertEquals("read book", tasks.getTasks().get(0).getDescription());
+        assertEquals("buy notebook", tasks.getTasks().get(1).getDescription());
+        assertThrows(InvalidTaskIndexException.class, () -> tasks.markDone(TaskNumbers.of(0, 2)));
+    }
+
+    @Test
+    public void fenwickTree_selectsLiveSlots_likeAScan() {
+        Random random = new Random(3);
+        FenwickTree tree = new FenwickTree();
+        ArrayList<Integer> weights = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            int weight = random.nextInt(4) == 0 ? 0 : 1;
+            tree.append(weight);
+            weights.add(weight);
+            if (i % 3 == 0) {
+                int slot = random.nextInt(weights.size());
+                tree.add(slot, 1 - 2 * weights.get(slot));
+                weights.set(slot, 1 - weights.get(slot));
+            }
+        }
+        int rank = 0;
+        for (int slot = 0; slot < weights.size(); slot++) {
+            if (weights.get(slot) == 1) {
+                assertEquals(slot, tree.select(rank));
+                assertEquals(rank, tree.prefix(slot));
+                rank++;
+            }
+        }
+    }
+
+    @Test
+    public void constructor_copiesGivenList() throws Exception {
+        ArrayList<Task> given = new ArrayList<>();
+        given.add(new Todo("read book", false));
+        TaskList tasks = new TaskList(given);
+        tasks.add(new Todo("return book", false));
+        assertEquals(1, given.size());
+        given.clear();
+        assertEquals(2, tasks.getTasks().size());
+        assertEquals("read book", tasks.get(0).getDescription());
+    }
+
+    @Test
+    public void add_taskWithUnusedId_isNeverGivenThatIdAgain() throws Exception {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        tasks.add(new Todo("read book", false).withId(2));
+        tasks.add(new Todo("return book", false));
+        tasks.add(new Todo("buy book", false));
+        assertEquals(2, tasks.get(0).getId());
+        assertEquals(3, tasks.get(1).getId());
+        assertEquals(4, tasks.get(2).getId());
+        assertEquals(5, tasks.getNextId());
+    }
+
+    @Test
+    public void delete_leavesIdsAndOrderIntact_acrossCompactions() throws Exception {
+        Random random = new Random(11);
+        ArrayList<Task> model = new ArrayList<>();
+        TaskList tasks = new TaskList(new ArrayList<>());
+        for (int i = 0; i < 2_000; i++) {
+            tasks.add(new Todo("task " + i, false));
+            model.add(tasks.get(tasks.size() - 1));
+            if (i % 2 == 1) {
+                int pos = random.nextInt(model.size());
+                tasks.delete(pos);
+                model.remove(pos);
+            }
+        }
+        while (model.size() > 10) {
+            int pos = random.nextInt(model.size());
+            tasks.delete(pos);
+            model.remove(pos);
+        }
+        assertEquals(model, tasks.getTasks());
+        for (int i = 0; i < model.size(); i++) {
+            assertSame(model.get(i), tasks.get(i));
+            assertSame(model.get(i), tasks.getById(model.get(i).getId()));
+        }
+        assertNull(tasks.getById(0));
+        assertEquals(2_001, tasks.getNextId());
+        assertThrows(InvalidTaskIndexException.class, () -> tasks.get(model.size()));
+    }
+
+    @Test
+    public void persistentTaskSequence_matchesList_andKeepsEveryVersion() {
+        Random random = new Random(5);
+        PersistentTaskSequence sequence = PersistentTaskSequence.of(List.of(
+                new Todo("a", false), new Todo("b", false), new Todo("c", false)));
+        ArrayList<Task> model = sequence.toList();
+        List<PersistentTaskSequence> versions = new ArrayList<>();
+        List<List<Task>> expected = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            int op = random.nextInt(3);
+            if (op == 0 || model.isEmpty()) {
+                Todo todo = new Todo("task " + i, false);
+                sequence = sequence.append(todo);
+                model.add(todo);
+            } else if (op == 1) {
+                int pos = random.nextInt(model.size());
+                Task updated = model.get(pos).withDone(!model.get(pos).isDone());
+                sequence = sequence.set(pos, updated);
+                model.set(pos, updated);
+            } else {
+                int pos = random.nextInt(model.size());
+                sequence = sequence.remove(pos);
+                model.remove(pos);
+            }
+            if (i % 100 == 0) {
+                versions.add(sequence);
+                expected.add(new ArrayList<>(model));
+            }
+        }
+        assertEquals(model.size(), sequence.size());
+        for (int i = 0; i < model.size(); i++) {
+            assertSame(model.get(i), sequence.get(i));
+        }
+        for (int v = 0; v < versions.size(); v++) {
+            assertEquals(expected.get(v), versions.get(v).toList());
+        }
+    }
+
+    @Test
+    public void undoRedo_restoreVersions_andKeepIndexesInSync() throws Exception {
+        TaskList tasks = sampleList();
+        tasks.setHistoryDepth(2);
+        Task unmarked = tasks.get(0);
+        tasks.markDone(0);
+        assertFalse(unmarked.isDone(), "marking copies the task instead of changing it");
+        assertEquals(unmarked.getId(), tasks.get(0).getId());
+        tasks.delete(TaskNumbers.of(1, 2));
+        Todo returnBook = new Todo("return book", false);
+        tasks.add(returnBook);
+        assertEquals(0, returnBook.getId(), "adding copies the task to give it an ID");
+        String latest = tasks.formatList();
+
+        assertEquals("okayy i've undone adding a task.\n now you have 2 tasks in the list.\n", tasks.undo());
+        assertEquals("okayy i've undone deleting 2 tasks.\n now you have 4 tasks in the list.\n", tasks.undo());
+        assertEquals("hmm nothing to undo.", tasks.undo());
+        assertTrue(tasks.get(0).isDone());
+        assertEquals("here are the matching tasks in your list:\n"
+                + "1. [T] [X] read book\n"
+                + "2. [T] [ ] buy notebook\n"
+                + "3. [E] [ ] book club (from: 2024-03-24 to: 2024-03-25)", tasks.search("book"));
+        assertEquals("[D] [ ] submit report (by: Sep 01 2025)", tasks.dueOnDate(LocalDate.of(2025, 9, 1)));
+        assertSame(tasks.get(2), tasks.getById(tasks.get(2).getId()));
+
+        tasks.redo();
+        tasks.redo();
+        assertEquals(latest, tasks.formatList());
+        assertEquals("hmm nothing to redo.", tasks.redo());
+
+        tasks.undo();
+        tasks.unmarkDone(0);
+        assertEquals("hmm nothing to redo.", tasks.redo());
+        assertEquals(6, tasks.getNextId());
+        assertFalse(tasks.search("return").contains("return"));
+    }
+
+    @Test
+    public void formatList_pages_matchSlicesOfFullList() throws Exception {
+        TaskList tasks = new TaskList(new ArrayList<>());
+        for (int i = 0; i < 300; i++) {
+            tasks.add(new Todo("task " + i, i % 7 == 0));
+        }
+        tasks.delete(TaskNumbers.parse("10-109", 0, tasks.size()));
+        String[] lines = tasks.formatList().split("\n");
+
+        assertEquals("here are tasks 51-100 of 200 in your list! ", tasks.formatList(50, 50).split("\n")[0]);
+        for (int from = 0; from < 200; from += 30) {
+            String[] page = tasks.formatList(from, 30).split("\n");
+            assertEquals(Math.min(30, 200 - from) + 1, page.length);
+            for (int i = 1; i < page.length; i++) {
+                assertEquals(lines[from + i], page[i]);
+            }
+        }
+        assertEquals(tasks.formatList(), tasks.formatList(0, 500));
+        assertEquals("oops there are only 200 tasks in your list.", tasks.formatList(200, 50));
+        assertEquals("oops no tasks yet", new TaskList(new ArrayList<>()).formatList(0, 50));
+    }
+}